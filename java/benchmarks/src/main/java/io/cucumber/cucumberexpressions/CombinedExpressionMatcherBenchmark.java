@@ -0,0 +1,77 @@
+package io.cucumber.cucumberexpressions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks finding the regular expressions matching a step in suites of
+ * different sizes.
+ * <p>
+ * Each invocation resolves 100 steps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombinedExpressionMatcherBenchmark {
+
+    @Param({"100", "1000"})
+    public int stepDefinitions;
+
+    private List<Expression> expressions;
+    private CombinedExpressionMatcher matcher;
+    private List<String> steps;
+
+    @Setup
+    public void setup() {
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+        List<Corpus.Example> examples = Corpus.syntheticRegularExpressions(stepDefinitions);
+        expressions = new ArrayList<>(examples.size());
+        for (Corpus.Example example : examples) {
+            expressions.add(factory.createExpression(example.expression()));
+        }
+        matcher = new CombinedExpressionMatcher(expressions);
+        steps = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            steps.add(examples.get(i * examples.size() / 100).text());
+        }
+    }
+
+    @Benchmark
+    public void matchEachExpression(Blackhole blackhole) {
+        for (String step : steps) {
+            for (Expression expression : expressions) {
+                blackhole.consume(expression.match(step));
+            }
+        }
+    }
+
+    @Benchmark
+    public void matchCombined(Blackhole blackhole) {
+        for (String step : steps) {
+            blackhole.consume(matcher.match(step));
+        }
+    }
+
+    @Benchmark
+    public void matchAll(Blackhole blackhole) {
+        blackhole.consume(matcher.matchAll(steps));
+    }
+}
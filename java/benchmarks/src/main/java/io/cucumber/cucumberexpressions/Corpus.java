@@ -0,0 +1,97 @@
+package io.cucumber.cucumberexpressions;
+
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.newInputStream;
+
+/**
+ * Expressions and texts to benchmark with.
+ */
+final class Corpus {
+    private static final Path TESTDATA = Paths.get(System.getProperty("cucumber.expressions.testdata", "../../testdata"));
+
+    private static final String[] CUCUMBER_EXPRESSION_TEMPLATES = {
+            "the user {string} has {int} item(s) in basket %d",
+            "I add {int} {word} to order %d",
+            "order %d costs {double} euro(s)",
+            "customer %d is logged in/out",
+    };
+    private static final String[] REGULAR_EXPRESSION_TEMPLATES = {
+            "^the user \"([^\"]*)\" has (\\d+) items? in basket %d$",
+            "^I add (\\d+) (\\w+) to order %d$",
+            "^order %d costs (-?\\d+\\.\\d+) euros?$",
+            "^customer %d is logged (?:in|out)$",
+    };
+    private static final String[] TEXT_TEMPLATES = {
+            "the user \"alice\" has 3 items in basket %d",
+            "I add 12 apples to order %d",
+            "order %d costs 12.50 euros",
+            "customer %d is logged out",
+    };
+
+    record Example(String expression, String text) {
+    }
+
+    private Corpus() {
+    }
+
+    static List<Example> cucumberExpressions() throws IOException {
+        return load(TESTDATA.resolve("cucumber-expression").resolve("matching"));
+    }
+
+    static List<Example> regularExpressions() throws IOException {
+        return load(TESTDATA.resolve("regular-expression").resolve("matching"));
+    }
+
+    /**
+     * Creates distinct Cucumber expressions and a text matching each.
+     */
+    static List<Example> syntheticCucumberExpressions(int size) {
+        return synthetic(CUCUMBER_EXPRESSION_TEMPLATES, size);
+    }
+
+    /**
+     * Creates distinct regular expressions and a text matching each.
+     */
+    static List<Example> syntheticRegularExpressions(int size) {
+        return synthetic(REGULAR_EXPRESSION_TEMPLATES, size);
+    }
+
+    private static List<Example> synthetic(String[] expressionTemplates, int size) {
+        List<Example> examples = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int template = i % expressionTemplates.length;
+            examples.add(new Example(
+                    expressionTemplates[template].formatted(i),
+                    TEXT_TEMPLATES[template].formatted(i)));
+        }
+        return examples;
+    }
+
+    private static List<Example> load(Path directory) throws IOException {
+        List<Example> examples = new ArrayList<>();
+        try (DirectoryStream<Path> paths = newDirectoryStream(directory)) {
+            for (Path path : paths) {
+                try (InputStream in = newInputStream(path)) {
+                    Map<String, ?> example = new Yaml().load(in);
+                    // Expressions that are expected to fail don't make for a useful benchmark
+                    if (example.containsKey("exception")) {
+                        continue;
+                    }
+                    examples.add(new Example((String) example.get("expression"), (String) example.get("text")));
+                }
+            }
+        }
+        return examples;
+    }
+}
@@ -0,0 +1,115 @@
+package io.cucumber.cucumberexpressions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the stages of creating a Cucumber expression and matching it.
+ * <p>
+ * Each invocation processes the whole corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CucumberExpressionBenchmark {
+
+    @Param({"testdata", "synthetic"})
+    public String corpus;
+
+    private ParameterTypeRegistry parameterTypeRegistry;
+    private List<Corpus.Example> examples;
+    private List<CucumberExpression> expressions;
+
+    @Setup
+    public void setup() throws IOException {
+        parameterTypeRegistry = new ParameterTypeRegistry(Locale.ENGLISH);
+        examples = "testdata".equals(corpus) ? Corpus.cucumberExpressions() : Corpus.syntheticCucumberExpressions(1000);
+        expressions = new ArrayList<>(examples.size());
+        for (Corpus.Example example : examples) {
+            expressions.add(new CucumberExpression(example.expression(), parameterTypeRegistry));
+        }
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) {
+        CucumberExpressionTokenizer tokenizer = new CucumberExpressionTokenizer();
+        for (Corpus.Example example : examples) {
+            blackhole.consume(tokenizer.tokenize(example.expression()));
+        }
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        CucumberExpressionParser parser = new CucumberExpressionParser();
+        for (Corpus.Example example : examples) {
+            blackhole.consume(parser.parse(example.expression()));
+        }
+    }
+
+    /**
+     * Tokenizes, parses, rewrites to a regex and compiles the regex.
+     */
+    @Benchmark
+    public void create(Blackhole blackhole) {
+        for (Corpus.Example example : examples) {
+            blackhole.consume(new CucumberExpression(example.expression(), parameterTypeRegistry));
+        }
+    }
+
+    /**
+     * Matches each expression against its own text.
+     */
+    @Benchmark
+    public void matchHit(Blackhole blackhole) {
+        for (int i = 0; i < expressions.size(); i++) {
+            blackhole.consume(expressions.get(i).match(examples.get(i).text()));
+        }
+    }
+
+    /**
+     * Matches each expression against the text of the next expression.
+     */
+    @Benchmark
+    public void matchMiss(Blackhole blackhole) {
+        int size = expressions.size();
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(expressions.get(i).match(examples.get((i + 1) % size).text()));
+        }
+    }
+
+    /**
+     * Matches each expression against its own text and transforms the
+     * arguments.
+     */
+    @Benchmark
+    public void matchHitAndTransform(Blackhole blackhole) {
+        for (int i = 0; i < expressions.size(); i++) {
+            Optional<List<Argument<?>>> arguments = expressions.get(i).match(examples.get(i).text());
+            if (arguments.isPresent()) {
+                for (Argument<?> argument : arguments.get()) {
+                    blackhole.consume(argument.getValue());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.cucumber.cucumberexpressions;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks generating snippets for undefined steps.
+ * <p>
+ * Each invocation processes the whole corpus.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CucumberExpressionGeneratorBenchmark {
+
+    @Param({"testdata", "synthetic"})
+    public String corpus;
+
+    /**
+     * The number of parameter types used for snippets, besides the built-in
+     * ones.
+     */
+    @Param({"0", "150"})
+    public int parameterTypes;
+
+    private CucumberExpressionGenerator generator;
+    private List<Corpus.Example> examples;
+
+    @Setup
+    public void setup() throws IOException {
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        for (int i = 0; i < parameterTypes; i++) {
+            registry.defineParameterType(new ParameterType<>("type" + i, "type" + i + "|[A-Z]{" + (2 + i % 4) + "}\\d", String.class, (String s) -> s));
+        }
+        generator = new CucumberExpressionGenerator(registry);
+        examples = "testdata".equals(corpus) ? Corpus.cucumberExpressions() : Corpus.syntheticCucumberExpressions(1000);
+    }
+
+    @Benchmark
+    public void generateExpressions(Blackhole blackhole) {
+        for (Corpus.Example example : examples) {
+            blackhole.consume(generator.generateExpressions(example.text()));
+        }
+    }
+
+    @Benchmark
+    public void generateRankedExpressions(Blackhole blackhole) {
+        for (Corpus.Example example : examples) {
+            blackhole.consume(generator.generateRankedExpressions(example.text(), 5));
+        }
+    }
+
+    @Benchmark
+    public void streamFirstExpression(Blackhole blackhole) {
+        for (Corpus.Example example : examples) {
+            blackhole.consume(generator.streamExpressions(example.text()).findFirst());
+        }
+    }
+}
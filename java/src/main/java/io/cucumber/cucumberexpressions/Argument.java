@@ -5,7 +5,6 @@ import org.jspecify.annotations.Nullable;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 import static java.util.Objects.requireNonNull;
@@ -13,40 +12,230 @@ import static java.util.Objects.requireNonNull;
 @API(status = API.Status.STABLE)
 public final class Argument<T> {
     private final ParameterType<T> parameterType;
-    private final Group group;
+    private final GroupMatch groupMatch;
+    private final int groupIndex;
+    private @Nullable Group group;
+    private boolean transformed;
+    private @Nullable T value;
 
-    static List<Argument<?>> build(Group group, List<ParameterType<?>> parameterTypes) {
-        List<Group> argGroups = group.getChildren().orElseGet(Collections::emptyList);
+    static List<Argument<?>> build(GroupMatch groupMatch, List<ParameterType<?>> parameterTypes) {
+        int[] argGroupIndexes = groupMatch.getChildGroupIndexes(0);
 
-        if (argGroups.size() != parameterTypes.size()) {
+        if (argGroupIndexes.length != parameterTypes.size()) {
             // This requires regex injection through a Cucumber expression.
             // Regex injection should not be possible anymore.
             throw new IllegalArgumentException("Group has %d capture groups, but there were %d parameter types".formatted(
-                    argGroups.size(), 
+                    argGroupIndexes.length, 
                     parameterTypes.size()
             ));
         }
-        List<Argument<?>> args = new ArrayList<>(argGroups.size());
+        List<Argument<?>> args = new ArrayList<>(argGroupIndexes.length);
         for (int i = 0; i < parameterTypes.size(); i++) {
-            Group argGroup = argGroups.get(i);
             ParameterType<?> parameterType = parameterTypes.get(i);
-            args.add(new Argument<>(argGroup, parameterType));
+            args.add(new Argument<>(groupMatch, argGroupIndexes[i], parameterType));
         }
 
         return args;
     }
 
-    private Argument(Group group, ParameterType<T> parameterType) {
-        this.group = requireNonNull(group);
+    private Argument(GroupMatch groupMatch, int groupIndex, ParameterType<T> parameterType) {
+        this.groupMatch = requireNonNull(groupMatch);
+        this.groupIndex = groupIndex;
         this.parameterType = requireNonNull(parameterType);
     }
 
     public Group getGroup() {
+        // Created on demand, most callers only need the value
+        if (group == null) {
+            group = groupMatch.toGroup(groupIndex);
+        }
         return group;
     }
 
+    /**
+     * Returns the value transformed by the parameter type. The value is only
+     * transformed once.
+     *
+     * @return the transformed value
+     */
     public @Nullable T getValue() {
-        return parameterType.transform(group.getValues());
+        if (!transformed) {
+            value = parameterType.transform(groupMatch.getValues(groupIndex));
+            transformed = true;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value as an {@code int}, like {@link Number#intValue()}.
+     * <p>
+     * The values of the built-in integer parameter types are parsed from the
+     * matched text without transforming the value.
+     *
+     * @return the value as an {@code int}
+     * @throws CucumberExpressionException if the value is not a number
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public int getInt() {
+        if (hasBuiltInIntegerValue()) {
+            try {
+                long value = decodeBuiltInInteger();
+                if (fitsParameterType(value)) {
+                    return (int) value;
+                }
+            } catch (NumberFormatException ignored) {
+                // Let the parameter type report the problem
+            }
+        }
+        return requireNumber().intValue();
+    }
+
+    /**
+     * Returns the value as a {@code long}, like {@link Number#longValue()}.
+     * <p>
+     * The values of the built-in integer parameter types are parsed from the
+     * matched text without transforming the value.
+     *
+     * @return the value as a {@code long}
+     * @throws CucumberExpressionException if the value is not a number
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public long getLong() {
+        if (hasBuiltInIntegerValue()) {
+            try {
+                long value = decodeBuiltInInteger();
+                if (fitsParameterType(value)) {
+                    return value;
+                }
+            } catch (NumberFormatException ignored) {
+                // Let the parameter type report the problem
+            }
+        }
+        return requireNumber().longValue();
+    }
+
+    /**
+     * Returns the value as a {@code double}, like {@link Number#doubleValue()}.
+     * <p>
+     * The values of the built-in integer, {@code {float}}, {@code {double}}
+     * and {@code {bigdecimal}} parameter types are parsed from the matched
+     * text without transforming the value.
+     *
+     * @return the value as a {@code double}
+     * @throws CucumberExpressionException if the value is not a number
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public double getDouble() {
+        if (hasBuiltInIntegerValue()) {
+            try {
+                long value = decodeBuiltInInteger();
+                if (fitsParameterType(value)) {
+                    return value;
+                }
+            } catch (NumberFormatException ignored) {
+                // Let the parameter type report the problem
+            }
+        }
+        NumberParser numberParser = parameterType.getNumberParser();
+        if (numberParser != null && hasSingleCaptureGroup()) {
+            try {
+                CharSequence text = groupMatch.getText();
+                int start = groupMatch.getStart(groupIndex);
+                int end = groupMatch.getEnd(groupIndex);
+                if (parameterType.getType() == Float.class) {
+                    return numberParser.parseFloat(text, start, end);
+                }
+                return numberParser.parseDouble(text, start, end);
+            } catch (NumberFormatException | CucumberExpressionException ignored) {
+                // Let the parameter type report the problem
+            }
+        }
+        return requireNumber().doubleValue();
+    }
+
+    private Number requireNumber() {
+        Object value = getValue();
+        if (value instanceof Number number) {
+            return number;
+        }
+        throw new CucumberExpressionException("ParameterType {%s} transformed %s to %s, which is not a number".formatted(
+                parameterType.getName(),
+                groupMatch.getValues(groupIndex),
+                value
+        ));
+    }
+
+    /**
+     * The built-in {byte}, {short}, {int} and {long} parameter types
+     * transform a single capture group with {@code Byte.decode} etc.
+     */
+    private boolean hasBuiltInIntegerValue() {
+        if (!parameterType.isBuiltIn()) {
+            return false;
+        }
+        Type type = parameterType.getType();
+        if (type != Integer.class && type != Long.class && type != Short.class && type != Byte.class) {
+            return false;
+        }
+        return hasSingleCaptureGroup();
+    }
+
+    private boolean hasSingleCaptureGroup() {
+        return groupMatch.getChildGroupIndexes(groupIndex).length == 0 && groupMatch.getStart(groupIndex) >= 0;
+    }
+
+    private boolean fitsParameterType(long value) {
+        Type type = parameterType.getType();
+        if (type == Integer.class) {
+            return Integer.MIN_VALUE <= value && value <= Integer.MAX_VALUE;
+        }
+        if (type == Short.class) {
+            return Short.MIN_VALUE <= value && value <= Short.MAX_VALUE;
+        }
+        if (type == Byte.class) {
+            return Byte.MIN_VALUE <= value && value <= Byte.MAX_VALUE;
+        }
+        return true;
+    }
+
+    /**
+     * Parses the matched text like {@link Long#decode(String)} without
+     * creating a string. The built-in integer regexps only match an optional
+     * minus sign followed by digits.
+     */
+    private long decodeBuiltInInteger() {
+        CharSequence text = groupMatch.getText();
+        int index = groupMatch.getStart(groupIndex);
+        int end = groupMatch.getEnd(groupIndex);
+        boolean negative = index < end && text.charAt(index) == '-';
+        if (negative) {
+            index++;
+        }
+        if (index >= end) {
+            throw new NumberFormatException();
+        }
+        int radix = 10;
+        if (text.charAt(index) == '0' && index + 1 < end) {
+            // Like decode, a leading zero denotes an octal number
+            radix = 8;
+            index++;
+        }
+        // Accumulate negatively to include Long.MIN_VALUE
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplicationLimit = limit / radix;
+        long result = 0;
+        for (; index < end; index++) {
+            int digit = Character.digit(text.charAt(index), radix);
+            if (digit < 0 || result < multiplicationLimit) {
+                throw new NumberFormatException();
+            }
+            result *= radix;
+            if (result < limit + digit) {
+                throw new NumberFormatException();
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
     }
 
     public Type getType() {
@@ -19,6 +19,10 @@ final class BuiltInParameterTransformer implements ParameterByTypeTransformer {
         this.numberParser = NumberParser.getInstance(locale);
     }
 
+    NumberParser getNumberParser() {
+        return numberParser;
+    }
+
     @Override
     public @Nullable Object transform(@Nullable String fromValue, Type toValueType) {
         return doTransform(fromValue, toValueType, toValueType);
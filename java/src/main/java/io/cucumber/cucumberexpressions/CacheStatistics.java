@@ -0,0 +1,61 @@
+package io.cucumber.cucumberexpressions;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A snapshot of the statistics of a cache.
+ */
+@API(since = "20.2", status = EXPERIMENTAL)
+public final class CacheStatistics {
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    CacheStatistics(long hitCount, long missCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the number of times a lookup found a cached value.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of times a lookup did not find a cached value.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of values removed from the cache, either because the
+     * cache was full or because the cached values were no longer valid.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the ratio of lookups that found a cached value, or {@code 1.0}
+     * when there were no lookups.
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                '}';
+    }
+}
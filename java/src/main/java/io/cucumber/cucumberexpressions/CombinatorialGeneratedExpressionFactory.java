@@ -1,9 +1,17 @@
 package io.cucumber.cucumberexpressions;
 
-import java.util.ArrayDeque;
+import org.jspecify.annotations.Nullable;
+
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 final class CombinatorialGeneratedExpressionFactory {
     // 256 generated expressions ought to be enough for anybody
@@ -21,34 +29,145 @@ final class CombinatorialGeneratedExpressionFactory {
 
     List<GeneratedExpression> generateExpressions() {
         List<GeneratedExpression> generatedExpressions = new ArrayList<>();
-        ArrayDeque<ParameterType<?>> permutation = new ArrayDeque<>(parameterTypeCombinations.size());
-        generatePermutations(generatedExpressions, permutation);
+        Iterator<GeneratedExpression> iterator = iterator();
+        while (iterator.hasNext() && generatedExpressions.size() < MAX_EXPRESSIONS) {
+            generatedExpressions.add(iterator.next());
+        }
         return generatedExpressions;
     }
 
-    private void generatePermutations(
-            List<GeneratedExpression> generatedExpressions,
-            Deque<ParameterType<?>> permutation
-    ) {
-        if (generatedExpressions.size() >= MAX_EXPRESSIONS) {
-            return;
+    /**
+     * Generates the {@code limit} best expressions, best first.
+     * <p>
+     * The parameter types of each parameter are listed best first, with
+     * preferential parameter types first. The cost of an expression is the
+     * sum of the positions of its parameter types in these lists, so the
+     * expression that uses the first parameter type of every parameter is
+     * the best. Expressions that cost the same are in the order of
+     * {@link #iterator()}.
+     * <p>
+     * Starting from the best expression, every other expression is reached
+     * from exactly one cheaper one by moving a single parameter to its next
+     * parameter type. Only the cheapest combinations that could still be
+     * among the best are kept, so this takes time proportional to the limit
+     * rather than to the number of combinations.
+     */
+    List<GeneratedExpression> generateRankedExpressions(int limit) {
+        List<GeneratedExpression> generatedExpressions = new ArrayList<>();
+        if (limit == 0 || hasEmptyCombination()) {
+            return generatedExpressions;
         }
+        TreeSet<RankedCombination> candidates = new TreeSet<>();
+        candidates.add(new RankedCombination(new int[parameterTypeCombinations.size()], 0, 0));
+        RankedCombination best;
+        while ((best = candidates.pollFirst()) != null) {
+            generatedExpressions.add(createExpression(best.indexes()));
+            int remaining = limit - generatedExpressions.size();
+            if (remaining == 0) {
+                break;
+            }
+            // Only moving the parameters from the last one moved onwards
+            // reaches every combination exactly once.
+            for (int i = best.moved(); i < best.indexes().length; i++) {
+                if (best.indexes()[i] + 1 == parameterTypeCombinations.get(i).size()) {
+                    continue;
+                }
+                int cost = best.cost() + 1;
+                if (candidates.size() >= remaining && cost > candidates.last().cost()) {
+                    // Neither this combination nor those reached from it
+                    // can be among the best.
+                    continue;
+                }
+                int[] indexes = best.indexes().clone();
+                indexes[i]++;
+                candidates.add(new RankedCombination(indexes, cost, i));
+                if (candidates.size() > remaining) {
+                    candidates.pollLast();
+                }
+            }
+        }
+        return generatedExpressions;
+    }
+
+    /**
+     * Generates all expressions lazily, in the same order as
+     * {@link #generateExpressions()} but without its limit.
+     */
+    Stream<GeneratedExpression> stream() {
+        Spliterator<GeneratedExpression> spliterator = Spliterators.spliteratorUnknownSize(
+                iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE
+        );
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    /**
+     * Iterates over the cartesian product of the parameter type combinations,
+     * with the parameter types of the last parameter changing fastest.
+     */
+    Iterator<GeneratedExpression> iterator() {
+        return new Iterator<>() {
+            // The index of the parameter type of each parameter in the next
+            // expression, or null when there are no more expressions.
+            private int @Nullable [] indexes = hasEmptyCombination() ? null : new int[parameterTypeCombinations.size()];
+
+            @Override
+            public boolean hasNext() {
+                return indexes != null;
+            }
 
-        if (permutation.size() == parameterTypeCombinations.size()) {
-            ArrayList<ParameterType<?>> permutationCopy = new ArrayList<>(permutation);
-            generatedExpressions.add(new GeneratedExpression(expressionTemplate, permutationCopy));
-            return;
+            @Override
+            public GeneratedExpression next() {
+                int @Nullable [] current = indexes;
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                GeneratedExpression generatedExpression = createExpression(current);
+                indexes = increment(current);
+                return generatedExpression;
+            }
+        };
+    }
+
+    private GeneratedExpression createExpression(int[] indexes) {
+        ParameterType<?>[] parameterTypes = new ParameterType<?>[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            parameterTypes[i] = parameterTypeCombinations.get(i).get(indexes[i]);
+        }
+        return new GeneratedExpression(expressionTemplate, Arrays.asList(parameterTypes));
+    }
+
+    private boolean hasEmptyCombination() {
+        for (List<ParameterType<?>> parameterTypes : parameterTypeCombinations) {
+            if (parameterTypes.isEmpty()) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        List<ParameterType<?>> parameterTypes = parameterTypeCombinations.get(permutation.size());
-        for (ParameterType<?> parameterType : parameterTypes) {
-            // Avoid recursion if no elements can be added.
-            if (generatedExpressions.size() >= MAX_EXPRESSIONS) {
-                return;
+    private int @Nullable [] increment(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            if (++indexes[i] < parameterTypeCombinations.get(i).size()) {
+                return indexes;
             }
-            permutation.addLast(parameterType);
-            generatePermutations(generatedExpressions, permutation);
-            permutation.removeLast();
+            indexes[i] = 0;
+        }
+        return null;
+    }
+
+    /**
+     * @param indexes the index of the parameter type of each parameter
+     * @param cost    the sum of the indexes
+     * @param moved   the parameter that was moved to reach this combination
+     */
+    private record RankedCombination(int[] indexes, int cost, int moved) implements Comparable<RankedCombination> {
+
+        @Override
+        public int compareTo(RankedCombination o) {
+            int costComparison = Integer.compare(cost, o.cost);
+            if (costComparison != 0) return costComparison;
+            return Arrays.compare(indexes, o.indexes);
         }
     }
 }
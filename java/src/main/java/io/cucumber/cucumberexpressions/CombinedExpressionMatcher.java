@@ -0,0 +1,322 @@
+package io.cucumber.cucumberexpressions;
+
+import org.apiguardian.api.API;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Matches a text against many {@link Expression expressions} with a few
+ * combined patterns rather than one pattern per expression.
+ * <p>
+ * The regexps of {@link CucumberExpression cucumber expressions} and
+ * {@link RegularExpression regular expressions} are combined into a single
+ * pattern of the form {@code (?:(?=(regexp1)\z)|)(?:(?=(regexp2)\z)|)...}.
+ * Each expression has its own lookahead, so one match of the combined pattern
+ * finds every expression that matches the text. The capture groups of each
+ * expression are then mapped back to its {@link TreeRegexp} to create the
+ * arguments.
+ * <p>
+ * Regexps that can not be combined, because they use back references, named
+ * groups, quotes or flags that would affect the other regexps, and
+ * expressions of other types are matched one at a time.
+ * <p>
+ * The matcher is immutable and can be shared between threads.
+ */
+@API(since = "20.2", status = EXPERIMENTAL)
+public final class CombinedExpressionMatcher {
+
+    /**
+     * Java matches each part of a pattern recursively. Limit the number of
+     * regexps in a single pattern to avoid running out of stack.
+     */
+    private static final int MAX_REGEXPS_PER_PATTERN = 64;
+    /**
+     * The minimum number of texts matched by one task of
+     * {@link #matchAll(Collection, Executor)}.
+     */
+    private static final int MIN_TEXTS_PER_TASK = 64;
+    private static final int NOT_COMBINABLE_FLAGS = Pattern.LITERAL | Pattern.CANON_EQ | Pattern.COMMENTS;
+
+    private final List<Expression> expressions;
+    private final List<CombinedPattern> combinedPatterns = new ArrayList<>();
+    private final List<Integer> uncombinedExpressions = new ArrayList<>();
+
+    public CombinedExpressionMatcher(Collection<? extends Expression> expressions) {
+        this.expressions = List.copyOf(expressions);
+
+        // Regexps can only be combined when they were compiled with the same flags
+        Map<Integer, List<Integer>> combinableExpressionsByFlags = new LinkedHashMap<>();
+        TreeRegexp[] treeRegexps = new TreeRegexp[this.expressions.size()];
+        for (int i = 0; i < this.expressions.size(); i++) {
+            TreeRegexp treeRegexp = treeRegexp(this.expressions.get(i));
+            if (treeRegexp != null && isCombinable(treeRegexp.pattern())) {
+                treeRegexps[i] = treeRegexp;
+                combinableExpressionsByFlags
+                        .computeIfAbsent(treeRegexp.pattern().flags(), flags -> new ArrayList<>())
+                        .add(i);
+            } else {
+                uncombinedExpressions.add(i);
+            }
+        }
+
+        combinableExpressionsByFlags.forEach((flags, expressionIndexes) -> {
+            for (int from = 0; from < expressionIndexes.size(); from += MAX_REGEXPS_PER_PATTERN) {
+                int to = Math.min(from + MAX_REGEXPS_PER_PATTERN, expressionIndexes.size());
+                combine(flags, expressionIndexes.subList(from, to), treeRegexps);
+            }
+        });
+    }
+
+    private void combine(int flags, List<Integer> expressionIndexes, TreeRegexp[] treeRegexps) {
+        int size = expressionIndexes.size();
+        int[] indexes = new int[size];
+        TreeRegexp[] combinedTreeRegexps = new TreeRegexp[size];
+        int[] groupIndexes = new int[size];
+        int[] groupCounts = new int[size];
+        StringBuilder source = new StringBuilder();
+        int groupIndex = 1;
+        for (int i = 0; i < size; i++) {
+            int expressionIndex = expressionIndexes.get(i);
+            TreeRegexp treeRegexp = treeRegexps[expressionIndex];
+            Pattern pattern = treeRegexp.pattern();
+            indexes[i] = expressionIndex;
+            combinedTreeRegexps[i] = treeRegexp;
+            groupIndexes[i] = groupIndex;
+            groupCounts[i] = pattern.matcher("").groupCount();
+            groupIndex += groupCounts[i] + 1;
+            source.append("(?:(?=(").append(pattern.pattern()).append(")\\z)|)");
+        }
+
+        try {
+            Pattern pattern = PatternCompilerProvider.getCompiler().compile(source.toString(), flags);
+            combinedPatterns.add(new CombinedPattern(pattern, indexes, combinedTreeRegexps, groupIndexes, groupCounts));
+        } catch (PatternSyntaxException e) {
+            // Fall back to matching the expressions one at a time
+            uncombinedExpressions.addAll(expressionIndexes);
+        }
+    }
+
+    /**
+     * Matches the text against all expressions.
+     * <p>
+     * The result is empty when no expression matched, and contains more than
+     * one element when the text is ambiguous.
+     *
+     * @param text the text to match
+     * @return the matching expressions and their arguments, in the order they
+     * were given
+     */
+    public List<ExpressionMatch> match(String text) {
+        return match(text, new Matcher[combinedPatterns.size()]);
+    }
+
+    /**
+     * Matches each text against all expressions, splitting the texts over
+     * tasks on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @param texts the texts to match
+     * @return the matches of each distinct text, in the order the texts were
+     * given
+     * @see #matchAll(Collection, Executor)
+     */
+    public Map<String, List<ExpressionMatch>> matchAll(Collection<String> texts) {
+        return matchAll(texts, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Matches each text against all expressions, splitting the texts over
+     * tasks on the given executor.
+     * <p>
+     * Each distinct text is matched once, as if by {@link #match(String)}.
+     * Each task reuses its matchers for all of its texts.
+     *
+     * @param texts    the texts to match
+     * @param executor used to match the texts
+     * @return the matches of each distinct text, in the order the texts were
+     * given
+     */
+    public Map<String, List<ExpressionMatch>> matchAll(Collection<String> texts, Executor executor) {
+        List<String> distinct = List.copyOf(new LinkedHashSet<>(texts));
+        int taskCount = Math.max(1, Math.min(
+                Runtime.getRuntime().availableProcessors() * 4,
+                distinct.size() / MIN_TEXTS_PER_TASK));
+        List<CompletableFuture<List<List<ExpressionMatch>>>> tasks = new ArrayList<>(taskCount);
+        for (int task = 0; task < taskCount; task++) {
+            List<String> slice = distinct.subList(
+                    distinct.size() * task / taskCount,
+                    distinct.size() * (task + 1) / taskCount);
+            tasks.add(CompletableFuture.supplyAsync(() -> {
+                @Nullable Matcher[] matchers = new Matcher[combinedPatterns.size()];
+                List<List<ExpressionMatch>> results = new ArrayList<>(slice.size());
+                for (String text : slice) {
+                    results.add(match(text, matchers));
+                }
+                return results;
+            }, executor));
+        }
+
+        Map<String, List<ExpressionMatch>> matches = new LinkedHashMap<>();
+        Iterator<String> text = distinct.iterator();
+        for (CompletableFuture<List<List<ExpressionMatch>>> task : tasks) {
+            for (List<ExpressionMatch> results : join(task)) {
+                matches.put(text.next(), results);
+            }
+        }
+        return Collections.unmodifiableMap(matches);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private List<ExpressionMatch> match(String text, @Nullable Matcher[] matchers) {
+        Map<Integer, ExpressionMatch> matches = new TreeMap<>();
+        for (int i = 0; i < combinedPatterns.size(); i++) {
+            Matcher matcher = matchers[i];
+            if (matcher == null) {
+                matcher = matchers[i] = combinedPatterns.get(i).pattern.matcher(text);
+            } else {
+                matcher.reset(text);
+            }
+            combinedPatterns.get(i).match(text, matcher, matches);
+        }
+        for (int expressionIndex : uncombinedExpressions) {
+            Expression expression = expressions.get(expressionIndex);
+            Optional<List<Argument<?>>> arguments = expression.match(text);
+            arguments.ifPresent(args -> matches.put(expressionIndex, new ExpressionMatch(expression, args)));
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    private static @Nullable TreeRegexp treeRegexp(Expression expression) {
+        if (expression instanceof CucumberExpression cucumberExpression) {
+            return cucumberExpression.getTreeRegexp();
+        }
+        if (expression instanceof RegularExpression regularExpression) {
+            return regularExpression.getTreeRegexp();
+        }
+        return null;
+    }
+
+    private static List<Argument<?>> createArguments(Expression expression, GroupMatch groupMatch) {
+        if (expression instanceof CucumberExpression cucumberExpression) {
+            return cucumberExpression.createArguments(groupMatch);
+        }
+        return ((RegularExpression) expression).createArguments(groupMatch);
+    }
+
+    /**
+     * Whether the regexp means the same when it is embedded in a larger
+     * pattern.
+     */
+    static boolean isCombinable(Pattern pattern) {
+        if ((pattern.flags() & NOT_COMBINABLE_FLAGS) != 0) {
+            return false;
+        }
+        String source = pattern.pattern();
+        boolean escaping = false;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (escaping) {
+                // Back references would refer to other groups, and a
+                // quote may not end before the end of the regexp.
+                if ((c >= '1' && c <= '9') || c == 'k' || c == 'Q') {
+                    return false;
+                }
+                escaping = false;
+            } else if (c == '\\') {
+                escaping = true;
+            } else if (c == '(' && isNamedGroup(source, i)) {
+                // Names must be unique within a pattern
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNamedGroup(String source, int i) {
+        return source.startsWith("(?<", i)
+                && i + 3 < source.length()
+                && source.charAt(i + 3) != '='
+                && source.charAt(i + 3) != '!';
+    }
+
+    private final class CombinedPattern {
+        private final Pattern pattern;
+        private final int[] expressionIndexes;
+        private final TreeRegexp[] treeRegexps;
+        private final int[] groupIndexes;
+        private final int[] groupCounts;
+
+        CombinedPattern(Pattern pattern, int[] expressionIndexes, TreeRegexp[] treeRegexps, int[] groupIndexes, int[] groupCounts) {
+            this.pattern = pattern;
+            this.expressionIndexes = expressionIndexes;
+            this.treeRegexps = treeRegexps;
+            this.groupIndexes = groupIndexes;
+            this.groupCounts = groupCounts;
+        }
+
+        void match(String text, Matcher matcher, Map<Integer, ExpressionMatch> matches) {
+            ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+            if (metrics == null) {
+                addMatches(text, matcher, matches);
+                return;
+            }
+            long start = System.nanoTime();
+            int found = matches.size();
+            addMatches(text, matcher, matches);
+            metrics.regexpMatched(pattern.pattern(), matches.size() > found, System.nanoTime() - start);
+        }
+
+        private void addMatches(String text, Matcher matcher, Map<Integer, ExpressionMatch> matches) {
+            if (!matcher.lookingAt()) {
+                // Can't happen, each lookahead is optional
+                return;
+            }
+            for (int i = 0; i < expressionIndexes.length; i++) {
+                int groupIndex = groupIndexes[i];
+                if (matcher.start(groupIndex) < 0) {
+                    continue;
+                }
+                int groupCount = groupCounts[i];
+                int[] bounds = new int[2 * (groupCount + 1)];
+                for (int j = 0; j <= groupCount; j++) {
+                    bounds[2 * j] = matcher.start(groupIndex + j);
+                    bounds[2 * j + 1] = matcher.end(groupIndex + j);
+                }
+                Expression expression = expressions.get(expressionIndexes[i]);
+                GroupMatch groupMatch = treeRegexps[i].toGroupMatch(text, bounds);
+                matches.put(expressionIndexes[i], new ExpressionMatch(expression, createArguments(expression, groupMatch)));
+            }
+        }
+    }
+}
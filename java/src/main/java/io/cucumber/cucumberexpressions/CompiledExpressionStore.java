@@ -0,0 +1,390 @@
+package io.cucumber.cucumberexpressions;
+
+import org.apiguardian.api.API;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Stores compiled {@link CucumberExpression cucumber expressions} in a file,
+ * so they do not have to be parsed and rewritten again in the next JVM.
+ * <p>
+ * An {@link ExpressionFactory} created with a store looks up the Cucumber
+ * expressions it creates in the store first, and adds those it had to
+ * compile. Call {@link #save()} to write them to the file. Only the
+ * expressions that were restored or added since the store was opened are
+ * written, so expressions that are no longer used do not accumulate.
+ * <p>
+ * For each expression the store keeps its AST, the regexp it was rewritten
+ * to, the groups of that regexp and the name and regexp of each parameter
+ * type it uses. A stored expression is only used when the registry still
+ * has parameter types with those names and regexps, otherwise it is
+ * compiled again.
+ * <p>
+ * The file is read once when the store is opened, so it can be replaced by
+ * {@link #save()}. Stored expressions are only decoded when they are looked
+ * up. A file that can not be read, e.g. because it was written by a
+ * different version, is ignored.
+ * <p>
+ * The store can be shared between threads.
+ */
+@API(since = "20.2", status = EXPERIMENTAL)
+public final class CompiledExpressionStore {
+
+    private static final int MAGIC = 0x43554b45;
+    private static final int VERSION = 1;
+
+    private final Path file;
+    // The encoded expressions by their source
+    private final Map<String, ByteBuffer> entries = new LinkedHashMap<>();
+    // The sources of the expressions restored or added since the store was opened
+    private final Set<String> usedSources = new HashSet<>();
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private CompiledExpressionStore(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the store in the given file. The file is created when the store
+     * is {@linkplain #save() saved}.
+     *
+     * @param file the file to store compiled expressions in
+     * @return the store
+     * @throws IOException if the file exists but could not be read
+     */
+    public static CompiledExpressionStore open(Path file) throws IOException {
+        CompiledExpressionStore store = new CompiledExpressionStore(file);
+        ByteBuffer buffer;
+        try {
+            // Not memory-mapped, a mapped file can not be replaced on Windows
+            buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        } catch (NoSuchFileException e) {
+            return store;
+        }
+        try {
+            store.index(buffer);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            // Written by a different version or truncated, compile again
+            store.entries.clear();
+        }
+        return store;
+    }
+
+    private void index(ByteBuffer buffer) {
+        if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return;
+        }
+        int count = buffer.getInt();
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Truncated entry");
+            }
+            ByteBuffer entry = buffer.slice(buffer.position(), length);
+            buffer.position(buffer.position() + length);
+            entries.put(readString(entry.duplicate()), entry);
+        }
+    }
+
+    /**
+     * Writes the expressions that were restored or added since the store was
+     * opened to the file. Stored expressions that were not looked up are
+     * dropped.
+     *
+     * @throws IOException if the file could not be written
+     */
+    public synchronized void save() throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(usedSources.size());
+                for (Map.Entry<String, ByteBuffer> entry : entries.entrySet()) {
+                    if (!usedSources.contains(entry.getKey())) {
+                        continue;
+                    }
+                    out.writeInt(entry.getValue().remaining());
+                    writeBuffer(out, entry.getValue().duplicate());
+                }
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Returns the number of stored expressions.
+     *
+     * @return the number of stored expressions
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the statistics of the lookups in this store. Stored expressions
+     * that no longer match the parameter types of the registry are counted as
+     * evicted.
+     *
+     * @return a snapshot of the statistics
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount);
+    }
+
+    /**
+     * Restores a stored expression.
+     *
+     * @return the expression, or {@code null} if it was not stored or uses
+     * parameter types that have changed since.
+     */
+    @Nullable
+    CucumberExpression get(String source, ParameterTypeRegistry parameterTypeRegistry) {
+        ByteBuffer entry;
+        synchronized (this) {
+            entry = entries.get(source);
+            if (entry == null) {
+                missCount++;
+                return null;
+            }
+        }
+        CucumberExpression expression;
+        try {
+            expression = decode(entry.duplicate(), parameterTypeRegistry);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            // Corrupt entry
+            expression = null;
+        }
+        synchronized (this) {
+            if (expression == null) {
+                if (entries.remove(source, entry)) {
+                    usedSources.remove(source);
+                }
+                evictionCount++;
+                missCount++;
+            } else {
+                usedSources.add(source);
+                hitCount++;
+            }
+        }
+        return expression;
+    }
+
+    synchronized void put(CucumberExpression expression) {
+        entries.put(expression.getSource(), encode(expression));
+        usedSources.add(expression.getSource());
+    }
+
+    /*
+     * entry := source regexp parameterTypes ast groups
+     * parameterTypes := count (name regexpFragment)*
+     * ast := size (type start end firstChild nextSibling token)*
+     * groups := (startIndex endIndex childCount)* in pre-order
+     */
+    private static ByteBuffer encode(CucumberExpression expression) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeString(out, expression.getSource());
+            writeString(out, expression.getRegexp().pattern());
+
+            List<ParameterType<?>> parameterTypes = expression.getParameterTypes();
+            out.writeInt(parameterTypes.size());
+            for (ParameterType<?> parameterType : parameterTypes) {
+                CompiledParameterType compiled = expression.getParameterTypeSnapshot().lookupByTypeName(parameterType.getName());
+                if (compiled == null) {
+                    throw new IllegalStateException("Parameter type " + parameterType.getName() + " is not in the registry");
+                }
+                writeString(out, parameterType.getName());
+                writeString(out, compiled.getRegexpFragment());
+            }
+
+            FlatAst ast = expression.getAst();
+            out.writeInt(ast.size());
+            for (int node = 0; node < ast.size(); node++) {
+                out.writeInt(ast.type(node).ordinal());
+                out.writeInt(ast.start(node));
+                out.writeInt(ast.end(node));
+                out.writeInt(ast.firstChild(node));
+                out.writeInt(ast.nextSibling(node));
+                writeNullableString(out, ast.token(node));
+            }
+
+            writeGroups(out, expression.getTreeRegexp().getGroupBuilder());
+        } catch (IOException e) {
+            // Can't happen, writes to memory
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static void writeGroups(DataOutputStream out, GroupBuilder groupBuilder) throws IOException {
+        out.writeInt(groupBuilder.getStartIndex());
+        out.writeInt(groupBuilder.getEndIndex());
+        out.writeInt(groupBuilder.getChildren().size());
+        for (GroupBuilder child : groupBuilder.getChildren()) {
+            writeGroups(out, child);
+        }
+    }
+
+    private static @Nullable CucumberExpression decode(ByteBuffer entry, ParameterTypeRegistry parameterTypeRegistry) {
+        String source = readString(entry);
+        String regexp = readString(entry);
+
+        ParameterTypeSnapshot snapshot = parameterTypeRegistry.getSnapshot();
+        int parameterTypeCount = entry.getInt();
+        List<ParameterType<?>> parameterTypes = new ArrayList<>(parameterTypeCount);
+        for (int i = 0; i < parameterTypeCount; i++) {
+            String name = readString(entry);
+            String regexpFragment = readString(entry);
+            CompiledParameterType compiled = snapshot.lookupByTypeName(name);
+            if (compiled == null || !compiled.getRegexpFragment().equals(regexpFragment)) {
+                return null;
+            }
+            parameterTypes.add(compiled.getParameterType());
+        }
+
+        int size = entry.getInt();
+        if (size < 1 || size > entry.remaining()) {
+            throw new IllegalArgumentException("Invalid AST size " + size);
+        }
+        int[] types = new int[size];
+        int[] starts = new int[size];
+        int[] ends = new int[size];
+        int[] firstChildren = new int[size];
+        int[] nextSiblings = new int[size];
+        @Nullable String[] tokens = new String[size];
+        for (int node = 0; node < size; node++) {
+            types[node] = entry.getInt();
+            starts[node] = entry.getInt();
+            ends[node] = entry.getInt();
+            firstChildren[node] = entry.getInt();
+            nextSiblings[node] = entry.getInt();
+            tokens[node] = readNullableString(entry);
+            if (types[node] < 0 || types[node] >= Node.Type.values().length
+                    || !isChild(node, firstChildren[node], size) || !isChild(node, nextSiblings[node], size)) {
+                throw new IllegalArgumentException("Invalid AST node " + node);
+            }
+        }
+        FlatAst ast = new FlatAst(size, types, starts, ends, firstChildren, nextSiblings, tokens);
+
+        // The root group is the whole regexp
+        GroupBuilder groupBuilder = new GroupBuilder(entry.getInt());
+        groupBuilder.setEndIndex(entry.getInt());
+        int groupCount = readGroups(entry, regexp, groupBuilder, -1, regexp.length());
+        if (groupBuilder.getChildren().size() != parameterTypeCount) {
+            throw new IllegalArgumentException("Expected a group for each of the " + parameterTypeCount + " parameter types");
+        }
+        Pattern pattern = TreeRegexp.compile(regexp);
+        if (pattern.matcher("").groupCount() != groupCount) {
+            throw new IllegalArgumentException("Expected " + pattern.matcher("").groupCount() + " groups");
+        }
+        TreeRegexp treeRegexp = new TreeRegexp(pattern, groupBuilder);
+        return new CucumberExpression(source, ast, treeRegexp, parameterTypes, parameterTypeRegistry, snapshot);
+    }
+
+    private static boolean isChild(int node, int child, int size) {
+        // Nodes are stored in pre-order
+        return child == FlatAst.NONE || (node < child && child < size);
+    }
+
+    /**
+     * Reads the groups in a parent group. Each group must be enclosed in
+     * parentheses of the regexp, lie inside the parentheses of its parent and
+     * follow its previous sibling.
+     *
+     * @return the number of groups read, including nested groups
+     */
+    private static int readGroups(ByteBuffer entry, String regexp, GroupBuilder parent, int parentStart, int parentEnd) {
+        int childCount = entry.getInt();
+        if (childCount < 0) {
+            throw new IllegalArgumentException("Invalid group count " + childCount);
+        }
+        int groupCount = childCount;
+        int previousEnd = parentStart;
+        for (int i = 0; i < childCount; i++) {
+            int startIndex = entry.getInt();
+            int endIndex = entry.getInt();
+            if (startIndex <= previousEnd || endIndex >= parentEnd || startIndex >= endIndex
+                    || regexp.charAt(startIndex) != '(' || regexp.charAt(endIndex) != ')') {
+                throw new IllegalArgumentException("Invalid group " + startIndex + ".." + endIndex);
+            }
+            GroupBuilder groupBuilder = new GroupBuilder(startIndex);
+            groupBuilder.setEndIndex(endIndex);
+            groupBuilder.setSource(regexp.substring(startIndex + 1, endIndex));
+            groupCount += readGroups(entry, regexp, groupBuilder, startIndex, endIndex);
+            parent.add(groupBuilder);
+            previousEnd = endIndex;
+        }
+        return groupCount;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeNullableString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            writeString(out, value);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static @Nullable String readNullableString(ByteBuffer buffer) {
+        int length = buffer.getInt(buffer.position());
+        if (length == -1) {
+            buffer.getInt();
+            return null;
+        }
+        return readString(buffer);
+    }
+
+    private static void writeBuffer(OutputStream out, ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            return;
+        }
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        out.write(bytes);
+    }
+}
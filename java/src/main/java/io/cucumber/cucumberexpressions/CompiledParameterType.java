@@ -0,0 +1,66 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * A parameter type together with the regular expressions derived from it.
+ * <p>
+ * Parameter types are immutable, so these only have to be computed once per
+ * parameter type rather than once per expression or snippet.
+ */
+final class CompiledParameterType {
+    private final ParameterType<?> parameterType;
+    private final String regexpFragment;
+    private volatile @Nullable List<Pattern> captureGroupPatterns;
+
+    CompiledParameterType(ParameterType<?> parameterType) {
+        this.parameterType = parameterType;
+        this.regexpFragment = createRegexpFragment(parameterType.getRegexps());
+    }
+
+    private static String createRegexpFragment(List<String> regexps) {
+        if (regexps.size() == 1) {
+            return "(" + regexps.get(0) + ")";
+        }
+        return regexps.stream()
+                .collect(joining(")|(?:", "((?:", "))"));
+    }
+
+    ParameterType<?> getParameterType() {
+        return parameterType;
+    }
+
+    /**
+     * The capture group a parameter of this type is rewritten to in the
+     * regular expression of a Cucumber expression.
+     */
+    String getRegexpFragment() {
+        return regexpFragment;
+    }
+
+    /**
+     * One pattern per regexp of the parameter type, each wrapped in a
+     * single capture group. Used to generate snippets, so these are only
+     * compiled when first needed.
+     */
+    List<Pattern> getCaptureGroupPatterns() {
+        List<Pattern> patterns = captureGroupPatterns;
+        if (patterns == null) {
+            List<Pattern> compiled = new ArrayList<>();
+            for (String captureGroupRegexp : parameterType.getRegexps()) {
+                compiled.add(Pattern.compile("(" + captureGroupRegexp + ")"));
+            }
+            patterns = unmodifiableList(compiled);
+            captureGroupPatterns = patterns;
+        }
+        return patterns;
+    }
+
+}
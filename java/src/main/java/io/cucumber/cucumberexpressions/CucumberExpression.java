@@ -6,9 +6,11 @@ import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.StringJoiner;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 
+import static io.cucumber.cucumberexpressions.FlatAst.NONE;
 import static io.cucumber.cucumberexpressions.Node.Type.OPTIONAL_NODE;
 import static io.cucumber.cucumberexpressions.Node.Type.PARAMETER_NODE;
 import static io.cucumber.cucumberexpressions.CucumberExpressionException.createAlternativeMayNotBeEmpty;
@@ -18,29 +20,58 @@ import static io.cucumber.cucumberexpressions.CucumberExpressionException.create
 import static io.cucumber.cucumberexpressions.CucumberExpressionException.createParameterIsNotAllowedInOptional;
 import static io.cucumber.cucumberexpressions.RegexpUtils.escapeRegex;
 import static io.cucumber.cucumberexpressions.UndefinedParameterTypeException.createUndefinedParameterType;
-import static java.util.stream.Collectors.joining;
 
 @API(status = API.Status.STABLE)
 public final class CucumberExpression implements Expression {
     private final List<ParameterType<?>> parameterTypes = new ArrayList<>();
     private final String source;
+    private final FlatAst ast;
     private final TreeRegexp treeRegexp;
+    private final RequiredLiterals requiredLiterals;
     private final ParameterTypeRegistry parameterTypeRegistry;
+    private final ParameterTypeSnapshot parameterTypeSnapshot;
 
     CucumberExpression(String expression, ParameterTypeRegistry parameterTypeRegistry) {
         this.source = expression;
         this.parameterTypeRegistry = parameterTypeRegistry;
+        this.parameterTypeSnapshot = parameterTypeRegistry.getSnapshot();
 
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        long start = metrics == null ? 0 : System.nanoTime();
         CucumberExpressionParser parser = new CucumberExpressionParser();
-        Node ast = parser.parse(expression);
-        String pattern = rewriteToRegex(ast);
+        this.ast = parser.parseFlat(expression);
+        if (metrics != null) {
+            metrics.expressionParsed(expression, System.nanoTime() - start);
+        }
+        String pattern = rewriteToRegex(0);
         treeRegexp = new TreeRegexp(pattern);
+        requiredLiterals = RequiredLiterals.of(ast, treeRegexp.pattern());
+        if (metrics != null) {
+            metrics.expressionCompiled(expression, System.nanoTime() - start);
+        }
     }
 
-    private String rewriteToRegex(Node node) {
+    /**
+     * Restores an expression from the results of compiling it earlier.
+     *
+     * @param parameterTypes the parameter types of the expression, looked up
+     *                       in the snapshot of the registry
+     */
+    CucumberExpression(String expression, FlatAst ast, TreeRegexp treeRegexp, List<ParameterType<?>> parameterTypes,
+                       ParameterTypeRegistry parameterTypeRegistry, ParameterTypeSnapshot parameterTypeSnapshot) {
+        this.source = expression;
+        this.parameterTypeRegistry = parameterTypeRegistry;
+        this.parameterTypeSnapshot = parameterTypeSnapshot;
+        this.ast = ast;
+        this.parameterTypes.addAll(parameterTypes);
+        this.treeRegexp = treeRegexp;
+        this.requiredLiterals = RequiredLiterals.of(ast, treeRegexp.pattern());
+    }
+
+    private String rewriteToRegex(int node) {
         // Can't happen as long as the switch case is exhaustive
-        return switch (node.type()) {
-            case TEXT_NODE -> escapeRegex(node.text());
+        return switch (ast.type(node)) {
+            case TEXT_NODE -> escapeRegex(ast.text(node));
             case OPTIONAL_NODE -> rewriteOptional(node);
             case ALTERNATION_NODE -> rewriteAlternation(node);
             case ALTERNATIVE_NODE -> rewriteAlternative(node);
@@ -49,95 +80,105 @@ public final class CucumberExpression implements Expression {
         };
     }
 
-    private String rewriteOptional(Node node) {
+    private String rewriteOptional(int node) {
         assertNoParameters(node, astNode -> createParameterIsNotAllowedInOptional(astNode, source));
         assertNoOptionals(node, astNode -> createOptionalIsNotAllowedInOptional(astNode, source));
         assertNotEmpty(node, astNode -> createOptionalMayNotBeEmpty(astNode, source));
-        return node.requireNodes().stream()
-                .map(this::rewriteToRegex)
-                .collect(joining("", "(?:", ")?"));
+        return rewriteChildren(node, "", "(?:", ")?");
     }
 
-    private String rewriteAlternation(Node node) {
+    private String rewriteAlternation(int node) {
         // Make sure the alternative parts aren't empty and don't contain parameter types
-        for (Node alternative : node.requireNodes()) {
-            if (alternative.requireNodes().isEmpty()) {
-                throw createAlternativeMayNotBeEmpty(alternative, source);
+        for (int alternative = ast.firstChild(node); alternative != NONE; alternative = ast.nextSibling(alternative)) {
+            if (ast.firstChild(alternative) == NONE) {
+                throw createAlternativeMayNotBeEmpty(ast.toNode(alternative), source);
             }
             assertNotEmpty(alternative, astNode -> createAlternativeMayNotExclusivelyContainOptionals(astNode, source));
         }
-        return node.requireNodes()
-                .stream()
-                .map(this::rewriteToRegex)
-                .collect(joining("|", "(?:", ")"));
+        return rewriteChildren(node, "|", "(?:", ")");
     }
 
-    private String rewriteAlternative(Node node) {
-        return node.requireNodes().stream()
-                .map(this::rewriteToRegex)
-                .collect(joining());
+    private String rewriteAlternative(int node) {
+        return rewriteChildren(node, "", "", "");
     }
 
-    private String rewriteParameter(Node node) {
-        String name = node.text();
-        ParameterType<?> parameterType = parameterTypeRegistry.lookupByTypeName(name);
-        if (parameterType == null) {
-            throw createUndefinedParameterType(node, source, name);
-        }
-        parameterTypes.add(parameterType);
-        List<String> regexps = parameterType.getRegexps();
-        if (regexps.size() == 1) {
-            return "(" + regexps.get(0) + ")";
+    private String rewriteParameter(int node) {
+        String name = ast.text(node);
+        CompiledParameterType compiledParameterType = parameterTypeSnapshot.lookupByTypeName(name);
+        if (compiledParameterType == null) {
+            throw createUndefinedParameterType(ast.toNode(node), source, name);
         }
-        return regexps.stream()
-                .collect(joining(")|(?:", "((?:", "))"));
+        parameterTypes.add(compiledParameterType.getParameterType());
+        return compiledParameterType.getRegexpFragment();
     }
 
 
-    private String rewriteExpression(Node node) {
-        return node.requireNodes().stream()
-                .map(this::rewriteToRegex)
-                .collect(joining("", "^", "$"));
+    private String rewriteExpression(int node) {
+        return rewriteChildren(node, "", "^", "$");
     }
 
-    private void assertNotEmpty(Node node,
+    private String rewriteChildren(int node, String delimiter, String prefix, String suffix) {
+        StringJoiner regex = new StringJoiner(delimiter, prefix, suffix);
+        for (int child = ast.firstChild(node); child != NONE; child = ast.nextSibling(child)) {
+            regex.add(rewriteToRegex(child));
+        }
+        return regex.toString();
+    }
+
+    private void assertNotEmpty(int node,
                                 Function<Node, CucumberExpressionException> createNodeWasNotEmptyException) {
-        if (node.requireNodes()
-                .stream()
-                .noneMatch(astNode -> Node.Type.TEXT_NODE.equals(astNode.type()))) {
-            throw createNodeWasNotEmptyException.apply(node);
+        for (int child = ast.firstChild(node); child != NONE; child = ast.nextSibling(child)) {
+            if (ast.type(child) == Node.Type.TEXT_NODE) {
+                return;
+            }
         }
+        throw createNodeWasNotEmptyException.apply(ast.toNode(node));
     }
 
-    private void assertNoParameters(Node node,
+    private void assertNoParameters(int node,
                                     Function<Node, CucumberExpressionException> createNodeContainedAParameterException) {
         assertNoNodeOfType(PARAMETER_NODE, node, createNodeContainedAParameterException);
     }
 
-    private void assertNoOptionals(Node node,
+    private void assertNoOptionals(int node,
                                    Function<Node, CucumberExpressionException> createNodeContainedAnOptionalException) {
         assertNoNodeOfType(OPTIONAL_NODE, node, createNodeContainedAnOptionalException);
     }
 
-    private void assertNoNodeOfType(Node.Type nodeType, Node node,
+    private void assertNoNodeOfType(Node.Type nodeType, int node,
                                     Function<Node, CucumberExpressionException> createException) {
-        node.requireNodes()
-                .stream()
-                .filter(astNode -> nodeType.equals(astNode.type()))
-                .map(createException)
-                .findFirst().ifPresent(exception -> {
-            throw exception;
-        });
+        for (int child = ast.firstChild(node); child != NONE; child = ast.nextSibling(child)) {
+            if (ast.type(child) == nodeType) {
+                throw createException.apply(ast.toNode(child));
+            }
+        }
     }
 
 
     @Override
     public Optional<List<Argument<?>>> match(String text, Type... typeHints) {
-        final Group group = treeRegexp.match(text);
-        if (group == null) {
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        if (metrics == null) {
+            return doMatch(text, typeHints);
+        }
+        long start = System.nanoTime();
+        Optional<List<Argument<?>>> arguments = doMatch(text, typeHints);
+        metrics.expressionMatched(source, arguments.isPresent(), System.nanoTime() - start);
+        return arguments;
+    }
+
+    private Optional<List<Argument<?>>> doMatch(String text, Type... typeHints) {
+        if (!requiredLiterals.mayMatch(text)) {
+            return Optional.empty();
+        }
+        final GroupMatch groupMatch = treeRegexp.matchLazily(text);
+        if (groupMatch == null) {
             return Optional.empty();
         }
+        return Optional.of(createArguments(groupMatch, typeHints));
+    }
 
+    List<Argument<?>> createArguments(GroupMatch groupMatch, Type... typeHints) {
         List<ParameterType<?>> parameterTypes = new ArrayList<>(this.parameterTypes);
         for (int i = 0; i < parameterTypes.size(); i++) {
             ParameterType<?> parameterType = parameterTypes.get(i);
@@ -148,7 +189,7 @@ public final class CucumberExpression implements Expression {
             }
         }
 
-        return Optional.of(Argument.build(group, parameterTypes));
+        return Argument.build(groupMatch, parameterTypes);
     }
 
     @Override
@@ -161,4 +202,20 @@ public final class CucumberExpression implements Expression {
         return treeRegexp.pattern();
     }
 
+    FlatAst getAst() {
+        return ast;
+    }
+
+    TreeRegexp getTreeRegexp() {
+        return treeRegexp;
+    }
+
+    List<ParameterType<?>> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    ParameterTypeSnapshot getParameterTypeSnapshot() {
+        return parameterTypeSnapshot;
+    }
+
 }
@@ -3,15 +3,8 @@ package io.cucumber.cucumberexpressions;
 import org.apiguardian.api.API;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.SortedSet;
-import java.util.TreeSet;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 @API(status = API.Status.STABLE)
 public final class CucumberExpressionGenerator {
@@ -22,50 +15,91 @@ public final class CucumberExpressionGenerator {
     }
 
     public List<GeneratedExpression> generateExpressions(String text) {
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        if (metrics == null) {
+            return createFactory(text).generateExpressions();
+        }
+        long start = System.nanoTime();
+        List<GeneratedExpression> generatedExpressions = createFactory(text).generateExpressions();
+        metrics.expressionsGenerated(text, System.nanoTime() - start);
+        return generatedExpressions;
+    }
+
+    /**
+     * Generates the best expressions for a text, best first.
+     * <p>
+     * The parameter types that could be used for each parameter are ranked
+     * with preferential parameter types first. Expressions that use
+     * parameter types further down these rankings come later. Expressions
+     * that rank the same are in the order of
+     * {@link #generateExpressions(String)}, so the first expression is
+     * always the same.
+     * <p>
+     * Unlike {@link #generateExpressions(String)}, only the expressions
+     * returned are created, so asking for a few expressions of a text with
+     * many ambiguous parameters is cheap.
+     *
+     * @param text  the text, usually of an undefined step
+     * @param limit the maximum number of expressions to generate
+     * @return at most {@code limit} generated expressions
+     * @throws IllegalArgumentException if {@code limit} is negative
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public List<GeneratedExpression> generateRankedExpressions(String text, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative, but was " + limit);
+        }
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        if (metrics == null) {
+            return createFactory(text).generateRankedExpressions(limit);
+        }
+        long start = System.nanoTime();
+        List<GeneratedExpression> generatedExpressions = createFactory(text).generateRankedExpressions(limit);
+        metrics.expressionsGenerated(text, System.nanoTime() - start);
+        return generatedExpressions;
+    }
+
+    /**
+     * Generates expressions for a text lazily.
+     * <p>
+     * The expressions are in the same order as those of
+     * {@link #generateExpressions(String)}, but are only created when the
+     * stream is consumed, and are not limited to 256. Use
+     * {@link Stream#limit(long)} to take as many as needed. The text is
+     * scanned for parameters before this method returns.
+     *
+     * @param text the text, usually of an undefined step
+     * @return a stream of generated expressions
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public Stream<GeneratedExpression> streamExpressions(String text) {
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        if (metrics == null) {
+            return createFactory(text).stream();
+        }
+        long start = System.nanoTime();
+        CombinatorialGeneratedExpressionFactory factory = createFactory(text);
+        metrics.expressionsGenerated(text, System.nanoTime() - start);
+        return factory.stream();
+    }
+
+    private CombinatorialGeneratedExpressionFactory createFactory(String text) {
         List<List<ParameterType<?>>> parameterTypeCombinations = new ArrayList<>();
-        List<ParameterTypeMatcher> parameterTypeMatchers = createParameterTypeMatchers(text);
+        SnippetScanner.Scan scan = parameterTypeRegistry.getSnapshot().getSnippetScanner().scan(text);
         StringBuilder expressionTemplate = new StringBuilder();
         int pos = 0;
         while (true) {
-            List<ParameterTypeMatcher> matchingParameterTypeMatchers = new ArrayList<>();
-
-            for (ParameterTypeMatcher parameterTypeMatcher : parameterTypeMatchers) {
-                if (parameterTypeMatcher.advanceToAndFind(pos)) {
-                    matchingParameterTypeMatchers.add(parameterTypeMatcher);
-                }
-            }
-
-            if (!matchingParameterTypeMatchers.isEmpty()) {
-                Collections.sort(matchingParameterTypeMatchers);
-
-                // Find all the best parameter type matchers, they are all candidates.
-                ParameterTypeMatcher bestParameterTypeMatcher = matchingParameterTypeMatchers.get(0);
-                List<ParameterTypeMatcher> bestParameterTypeMatchers = new ArrayList<>();
-                for (ParameterTypeMatcher m : matchingParameterTypeMatchers) {
-                    if (m.compareTo(bestParameterTypeMatcher) == 0) {
-                        bestParameterTypeMatchers.add(m);
-                    }
-                }
-
-                // Build a list of parameter types without duplicates. The reason there
-                // might be duplicates is that some parameter types have more than one regexp,
-                // which means multiple ParameterTypeMatcher objects will have a reference to the
-                // same ParameterType.
-                // We're sorting the list so preferential parameter types are listed first.
-                // Users are most likely to want these, so they should be listed at the top.
-                Set<ParameterType<?>> set = new HashSet<>();
-                for (ParameterTypeMatcher parameterTypeMatcher : bestParameterTypeMatchers) {
-                    ParameterType<?> parameterType = parameterTypeMatcher.getParameterType();
-                    set.add(parameterType);
-                }
-                SortedSet<ParameterType<?>> parameterTypes = new TreeSet<>(set);
-
-                parameterTypeCombinations.add(new ArrayList<>(parameterTypes));
+            if (scan.find(pos)) {
+                // All the best parameter types are candidates. They are
+                // sorted so preferential parameter types are listed first.
+                // Users are most likely to want these, so they should be
+                // listed at the top.
+                parameterTypeCombinations.add(scan.getParameterTypes());
 
                 expressionTemplate
-                        .append(escape(text.substring(pos, bestParameterTypeMatcher.start())))
+                        .append(escape(text.substring(pos, scan.start())))
                         .append("{%s}");
-                pos = bestParameterTypeMatcher.start() + bestParameterTypeMatcher.group().length();
+                pos = scan.end();
             } else {
                 break;
             }
@@ -75,7 +109,7 @@ public final class CucumberExpressionGenerator {
             }
         }
         expressionTemplate.append(escape(text.substring(pos)));
-        return new CombinatorialGeneratedExpressionFactory(expressionTemplate.toString(), parameterTypeCombinations).generateExpressions();
+        return new CombinatorialGeneratedExpressionFactory(expressionTemplate.toString(), parameterTypeCombinations);
     }
 
     private String escape(String s) {
@@ -87,26 +121,4 @@ public final class CucumberExpressionGenerator {
                 .replaceAll("/", "\\\\/");
     }
 
-    private List<ParameterTypeMatcher> createParameterTypeMatchers(String text) {
-        Collection<ParameterType<?>> parameterTypes = parameterTypeRegistry.getParameterTypes();
-        List<ParameterTypeMatcher> parameterTypeMatchers = new ArrayList<>();
-        for (ParameterType<?> parameterType : parameterTypes) {
-            if (parameterType.useForSnippets()) {
-                parameterTypeMatchers.addAll(createParameterTypeMatchers(parameterType, text));
-            }
-        }
-        return parameterTypeMatchers;
-    }
-
-    private static List<ParameterTypeMatcher> createParameterTypeMatchers(ParameterType<?> parameterType, String text) {
-        List<ParameterTypeMatcher> result = new ArrayList<>();
-        List<String> captureGroupRegexps = parameterType.getRegexps();
-        for (String captureGroupRegexp : captureGroupRegexps) {
-            Pattern regexp = Pattern.compile("(" + captureGroupRegexp + ")");
-            Matcher matcher = regexp.matcher(text);
-            result.add(new ParameterTypeMatcher(parameterType, matcher, text));
-        }
-        return result;
-    }
-
 }
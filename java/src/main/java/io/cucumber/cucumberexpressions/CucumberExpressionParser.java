@@ -34,33 +34,39 @@ public final class CucumberExpressionParser {
     /*
      * text := whitespace | ')' | '}' | .
      */
-    private static final Parser textParser = (expression, tokens, current) -> {
+    private static final Parser textParser = (expression, tokens, current, ast) -> {
         Token token = tokens.get(current);
         return switch (token.type) {
             case WHITE_SPACE, 
                  TEXT, 
                  END_PARAMETER, 
-                 END_OPTIONAL -> new Result(1, new Node(TEXT_NODE, token.start(), token.end(), token.text));
+                 END_OPTIONAL -> {
+                ast.addLeaf(TEXT_NODE, token.start(), token.end(), token.text());
+                yield 1;
+            }
             case ALTERNATION -> throw createAlternationNotAllowedInOptional(expression, token);
             // If configured correctly this will never happen
-            default -> new Result(0);
+            default -> 0;
         };
     };
 
     /*
      * name := whitespace | .
      */
-    private static final Parser nameParser = (expression, tokens, current) -> {
+    private static final Parser nameParser = (expression, tokens, current, ast) -> {
         Token token = tokens.get(current);
         return switch (token.type) {
-            case WHITE_SPACE, TEXT -> new Result(1, new Node(TEXT_NODE, token.start(), token.end(), token.text));
+            case WHITE_SPACE, TEXT -> {
+                ast.addLeaf(TEXT_NODE, token.start(), token.end(), token.text());
+                yield 1;
+            }
             case BEGIN_OPTIONAL,
                  END_OPTIONAL,
                  BEGIN_PARAMETER,
                  END_PARAMETER,
                  ALTERNATION -> throw createInvalidParameterTypeName(token, expression);
             // If configured correctly this will never happen
-            default -> new Result(0);
+            default -> 0;
         };
     };
 
@@ -94,12 +100,13 @@ public final class CucumberExpressionParser {
     /*
      * alternation := alternative* + ( '/' + alternative* )+
      */
-    private static final Parser alternativeSeparator = (expression, tokens, current) -> {
+    private static final Parser alternativeSeparator = (expression, tokens, current, ast) -> {
         if (!lookingAt(tokens, current, ALTERNATION)) {
-            return new Result(0);
+            return 0;
         }
         Token token = tokens.get(current);
-        return new Result(1, new Node(ALTERNATIVE_NODE, token.start(), token.end(), token.text));
+        ast.addLeaf(ALTERNATIVE_NODE, token.start(), token.end(), token.text());
+        return 1;
     };
 
     private static final List<Parser> alternativeParsers = asList(
@@ -115,23 +122,26 @@ public final class CucumberExpressionParser {
      * right-boundary := whitespace | { | $
      * alternative: = optional | parameter | text
      */
-    private static final Parser alternationParser = (expression, tokens, current) -> {
+    private static final Parser alternationParser = (expression, tokens, current, ast) -> {
         int previous = current - 1;
         if (!lookingAtAny(tokens, previous, START_OF_LINE, WHITE_SPACE, END_PARAMETER)) {
-            return new Result(0);
+            return 0;
         }
 
-        Result result = parseTokensUntil(expression, alternativeParsers, tokens, current, WHITE_SPACE, END_OF_LINE, BEGIN_PARAMETER);
-        int subCurrent = current + result.consumed;
-        if (result.ast.stream().noneMatch(astNode -> astNode.type() == ALTERNATIVE_NODE)) {
-            return new Result(0);
+        int start = tokens.get(current).start();
+        int alternation = ast.addParent(ALTERNATION_NODE, start, start);
+        int consumed = parseTokensUntil(expression, alternativeParsers, tokens, current, ast, alternation, WHITE_SPACE, END_OF_LINE, BEGIN_PARAMETER);
+        int subCurrent = current + consumed;
+        if (!hasChildOfType(ast, alternation, ALTERNATIVE_NODE)) {
+            ast.truncate(alternation);
+            return 0;
         }
 
-        int start = tokens.get(current).start();
         int end = tokens.get(subCurrent).start();
+        ast.setEnd(alternation, end);
+        splitAlternatives(ast, alternation, start, end);
         // Does not consume right hand boundary token
-        return new Result(result.consumed,
-                new Node(ALTERNATION_NODE, start, end, splitAlternatives(start, end, result.ast)));
+        return consumed;
     };
 
     /*
@@ -157,10 +167,22 @@ public final class CucumberExpressionParser {
      * @throws CucumberExpressionException if the expression could not be parsed
      */
     public Node parse(String expression) {
+        return parseFlat(expression).toNode();
+    }
+
+    /**
+     * Parses as Cucumber expression into an AST stored as arrays.
+     *
+     * @param expression the expression to parse
+     * @return an AST of nodes
+     * @throws CucumberExpressionException if the expression could not be parsed
+     */
+    FlatAst parseFlat(String expression) {
         CucumberExpressionTokenizer tokenizer = new CucumberExpressionTokenizer();
         List<Token> tokens = tokenizer.tokenize(expression);
-        Result result = cucumberExpressionParser.parse(expression, tokens, 0);
-        return result.ast.get(0);
+        FlatAst.Builder ast = new FlatAst.Builder();
+        cucumberExpressionParser.parse(expression, tokens, 0, ast);
+        return ast.build(0);
     }
 
     private static Parser parseBetween(
@@ -168,58 +190,73 @@ public final class CucumberExpressionParser {
             Token.Type beginToken,
             Token.Type endToken,
             List<Parser> parsers) {
-        return (expression, tokens, current) -> {
+        return (expression, tokens, current, ast) -> {
             if (!lookingAt(tokens, current, beginToken)) {
-                return new Result(0);
+                return 0;
             }
+            int start = tokens.get(current).start();
+            int node = ast.addParent(type, start, start);
             int subCurrent = current + 1;
-            Result result = parseTokensUntil(expression, parsers, tokens, subCurrent, endToken, END_OF_LINE);
-            subCurrent += result.consumed;
+            subCurrent += parseTokensUntil(expression, parsers, tokens, subCurrent, ast, node, endToken, END_OF_LINE);
 
             // endToken not found
             if (!lookingAt(tokens, subCurrent, endToken)) {
                 throw createMissingEndToken(expression, beginToken, endToken, tokens.get(current));
             }
             // consumes endToken
-            int start = tokens.get(current).start();
-            int end = tokens.get(subCurrent).end();
-            return new Result(subCurrent + 1 - current, new Node(type, start, end, result.ast));
+            ast.setEnd(node, tokens.get(subCurrent).end());
+            return subCurrent + 1 - current;
         };
     }
 
-    private static Result parseTokensUntil(
+    /**
+     * Parses tokens into the children of the parent node.
+     *
+     * @return the number of tokens consumed
+     */
+    private static int parseTokensUntil(
             String expression,
             List<Parser> parsers,
             List<Token> tokens,
             int startAt,
+            FlatAst.Builder ast,
+            int parent,
             Token.Type... endTokens) {
         int current = startAt;
         int size = tokens.size();
-        List<Node> ast = new ArrayList<>();
+        int previousChild = FlatAst.NONE;
         while (current < size) {
             if (lookingAtAny(tokens, current, endTokens)) {
                 break;
             }
 
-            Result result = parseToken(expression, parsers, tokens, current);
-            if (result.consumed == 0) {
+            // Each parser adds the root of what it parsed first
+            int child = ast.size();
+            int consumed = parseToken(expression, parsers, tokens, current, ast);
+            if (consumed == 0) {
                 // If configured correctly this will never happen
                 // Keep to avoid infinite loops
                 throw new IllegalStateException("No eligible parsers for " + tokens);
             }
-            current += result.consumed;
-            ast.addAll(result.ast);
+            current += consumed;
+            if (previousChild == FlatAst.NONE) {
+                ast.setFirstChild(parent, child);
+            } else {
+                ast.setNextSibling(previousChild, child);
+            }
+            previousChild = child;
         }
-        return new Result(current - startAt, ast);
+        return current - startAt;
     }
 
-    private static Result parseToken(String expression, List<Parser> parsers,
-                                     List<Token> tokens,
-                                     int startAt) {
+    private static int parseToken(String expression, List<Parser> parsers,
+                                  List<Token> tokens,
+                                  int startAt,
+                                  FlatAst.Builder ast) {
         for (Parser parser : parsers) {
-            Result result = parser.parse(expression, tokens, startAt);
-            if (result.consumed != 0) {
-                return result;
+            int consumed = parser.parse(expression, tokens, startAt, ast);
+            if (consumed != 0) {
+                return consumed;
             }
         }
         // If configured correctly this will never happen
@@ -247,51 +284,66 @@ public final class CucumberExpressionParser {
         return tokens.get(at).type == token;
     }
 
-    private static List<Node> splitAlternatives(int start, int end, List<Node> alternation) {
-        List<Node> separators = new ArrayList<>();
-        List<List<Node>> alternatives = new ArrayList<>();
-        List<Node> alternative = new ArrayList<>();
-        for (Node n : alternation) {
-            if (ALTERNATIVE_NODE.equals(n.type())) {
-                separators.add(n);
-                alternatives.add(alternative);
-                alternative = new ArrayList<>();
-            } else {
-                alternative.add(n);
+    private static boolean hasChildOfType(FlatAst.Builder ast, int parent, Node.Type type) {
+        for (int child = ast.firstChild(parent); child != FlatAst.NONE; child = ast.nextSibling(child)) {
+            if (ast.type(child) == type) {
+                return true;
             }
         }
-        alternatives.add(alternative);
-
-        return createAlternativeNodes(start, end, separators, alternatives);
+        return false;
     }
 
-    private static List<Node> createAlternativeNodes(int start, int end, List<Node> separators, List<List<Node>> alternatives) {
-        List<Node> nodes = new ArrayList<>();
-        for (int i = 0; i < alternatives.size(); i++) {
-            List<Node> n = alternatives.get(i);
-            if (i == 0) {
-                Node rightSeparator = separators.get(i);
-                nodes.add(new Node(ALTERNATIVE_NODE, start, rightSeparator.start(), n));
-            } else if (i == alternatives.size() - 1) {
-                Node leftSeparator = separators.get(i - 1);
-                nodes.add(new Node(ALTERNATIVE_NODE, leftSeparator.end(), end, n));
+    /**
+     * Replaces the children of the alternation, the alternatives and the
+     * separators between them, with a node for each alternative.
+     */
+    private static void splitAlternatives(FlatAst.Builder ast, int alternation, int start, int end) {
+        int child = ast.firstChild(alternation);
+        int alternativeStart = start;
+        int previousAlternative = FlatAst.NONE;
+        while (true) {
+            // Collect the children up to the next separator
+            int firstChild = FlatAst.NONE;
+            int lastChild = FlatAst.NONE;
+            while (child != FlatAst.NONE && ast.type(child) != ALTERNATIVE_NODE) {
+                if (firstChild == FlatAst.NONE) {
+                    firstChild = child;
+                }
+                lastChild = child;
+                child = ast.nextSibling(child);
+            }
+            if (lastChild != FlatAst.NONE) {
+                ast.setNextSibling(lastChild, FlatAst.NONE);
+            }
+
+            int separator = child;
+            int alternativeEnd = separator == FlatAst.NONE ? end : ast.start(separator);
+            int alternative = ast.addParent(ALTERNATIVE_NODE, alternativeStart, alternativeEnd);
+            ast.setFirstChild(alternative, firstChild);
+            if (previousAlternative == FlatAst.NONE) {
+                ast.setFirstChild(alternation, alternative);
             } else {
-                Node leftSeparator = separators.get(i - 1);
-                Node rightSeparator = separators.get(i);
-                nodes.add(new Node(ALTERNATIVE_NODE, /* start= */leftSeparator.end(), /* end= */rightSeparator.start(), n));
+                ast.setNextSibling(previousAlternative, alternative);
+            }
+            previousAlternative = alternative;
+
+            if (separator == FlatAst.NONE) {
+                return;
             }
+            alternativeStart = ast.end(separator);
+            child = ast.nextSibling(separator);
         }
-        return nodes;
     }
 
     private interface Parser {
-        Result parse(String expression, List<Token> tokens, int current);
-
-    }
+        /**
+         * Parses the tokens at the current position. Adds the node it parsed
+         * to the AST before any of its children.
+         *
+         * @return the number of tokens consumed, or 0 if the parser does not
+         * apply
+         */
+        int parse(String expression, List<Token> tokens, int current, FlatAst.Builder ast);
 
-    private record Result(int consumed, List<Node> ast) {
-        private Result(int consumed, Node... ast) {
-            this(consumed, asList(ast));
-        }
     }
 }
@@ -3,131 +3,99 @@ package io.cucumber.cucumberexpressions;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.PrimitiveIterator.OfInt;
 
 import static io.cucumber.cucumberexpressions.CucumberExpressionException.createCantEscape;
 import static io.cucumber.cucumberexpressions.CucumberExpressionException.createTheEndOfLineCanNotBeEscaped;
-import static java.util.Objects.requireNonNull;
 
+/**
+ * Splits an expression into tokens.
+ * <p>
+ * The expression is scanned by index. Tokens refer to their text by offsets
+ * into the expression, so no text is copied until it is needed. Surrogate
+ * pairs are only decoded outside ASCII, where the type of a char is looked
+ * up in a table.
+ */
 final class CucumberExpressionTokenizer {
 
-    List<Token> tokenize(String expression) {
-        List<Token> tokens = new ArrayList<>();
-        tokenizeImpl(expression).forEach(tokens::add);
-        return tokens;
-    }
-
-    private Iterable<Token> tokenizeImpl(String expression) {
-        return () -> new TokenIterator(expression);
-    }
-
-    private static class TokenIterator implements Iterator<Token> {
-
-        private final String expression;
-        private final OfInt codePoints;
-
-        private StringBuilder buffer = new StringBuilder();
-        private Token.@Nullable Type previousTokenType = null;
-        private Token.@Nullable Type currentTokenType = Token.Type.START_OF_LINE;
-        private boolean treatAsText;
-        private int bufferStartIndex;
-        private int escaped;
+    private static final char ESCAPE_CHARACTER = '\\';
+    private static final Token.Type[] ASCII_TYPES = new Token.Type[128];
+    private static final boolean[] ASCII_CAN_ESCAPE = new boolean[128];
 
-        TokenIterator(String expression) {
-            this.expression = expression;
-            this.codePoints = expression.codePoints().iterator();
+    static {
+        for (char c = 0; c < 128; c++) {
+            ASCII_TYPES[c] = Token.typeOf(c);
+            ASCII_CAN_ESCAPE[c] = Token.canEscape(c);
         }
+    }
 
-        private Token convertBufferToToken(Token.Type tokenType) {
-            int escapeTokens = 0;
-            if (tokenType == Token.Type.TEXT) {
-                escapeTokens = escaped;
-                escaped = 0;
+    List<Token> tokenize(String expression) {
+        List<Token> tokens = new ArrayList<>();
+        tokens.add(new Token(expression, 0, 0, false, Token.Type.START_OF_LINE, 0, 0));
+
+        int length = expression.length();
+        // The token being scanned, as chars and as code points
+        Token.@Nullable Type bufferType = null;
+        int bufferStart = 0;
+        int bufferStartIndex = 0;
+        boolean bufferEscaped = false;
+
+        int index = 0;
+        int i = 0;
+        while (i < length) {
+            char c = expression.charAt(i);
+            int charCount = 1;
+            int codePointCount = 1;
+            boolean escaped = false;
+            Token.Type type;
+            if (c == ESCAPE_CHARACTER) {
+                if (i + 1 == length) {
+                    throw createTheEndOfLineCanNotBeEscaped(expression);
+                }
+                if (!canEscape(expression.codePointAt(i + 1))) {
+                    throw createCantEscape(expression, index + 1);
+                }
+                // Escapable characters are all in the BMP
+                charCount = 2;
+                codePointCount = 2;
+                escaped = true;
+                type = Token.Type.TEXT;
+            } else if (c < 128) {
+                type = ASCII_TYPES[c];
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(expression.charAt(i + 1))) {
+                charCount = 2;
+                type = Token.typeOf(Character.toCodePoint(c, expression.charAt(i + 1)));
+            } else {
+                type = Token.typeOf(c);
             }
-            int consumedIndex = bufferStartIndex + buffer.codePointCount(0, buffer.length()) + escapeTokens;
-            Token t = new Token(buffer.toString(), tokenType, bufferStartIndex, consumedIndex);
-            buffer = new StringBuilder();
-            this.bufferStartIndex = consumedIndex;
-            return t;
-        }
-
-        private void advanceTokenTypes() {
-            previousTokenType = currentTokenType;
-            currentTokenType = null;
-        }
 
-        private Token.Type tokenTypeOf(Integer token, boolean treatAsText) {
-            if (!treatAsText) {
-                return Token.typeOf(token);
+            if (bufferType != null && !(type == bufferType && (type == Token.Type.WHITE_SPACE || type == Token.Type.TEXT))) {
+                tokens.add(new Token(expression, bufferStart, i, bufferEscaped, bufferType, bufferStartIndex, index));
+                bufferType = null;
             }
-            if (Token.canEscape(token)) {
-                return Token.Type.TEXT;
+            if (bufferType == null) {
+                bufferType = type;
+                bufferStart = i;
+                bufferStartIndex = index;
+                bufferEscaped = false;
             }
-            throw createCantEscape(expression, bufferStartIndex + buffer.codePointCount(0, buffer.length()) + escaped);
+            bufferEscaped |= escaped;
+            i += charCount;
+            index += codePointCount;
         }
 
-        private boolean shouldContinueTokenType(Token.@Nullable Type previousTokenType,
-                                                Token.@Nullable Type currentTokenType) {
-            return currentTokenType == previousTokenType
-                    && (currentTokenType == Token.Type.WHITE_SPACE || currentTokenType == Token.Type.TEXT);
+        if (bufferType != null) {
+            tokens.add(new Token(expression, bufferStart, length, bufferEscaped, bufferType, bufferStartIndex, index));
         }
+        tokens.add(new Token(expression, length, length, false, Token.Type.END_OF_LINE, index, index));
+        return tokens;
+    }
 
-        @Override
-        public boolean hasNext() {
-            return previousTokenType != Token.Type.END_OF_LINE;
-        }
-
-        @Override
-        public Token next() {
-            if (!hasNext()) {
-                throw new NoSuchElementException();
-            }
-            if (currentTokenType == Token.Type.START_OF_LINE) {
-                Token token = convertBufferToToken(currentTokenType);
-                advanceTokenTypes();
-                return token;
-            }
-
-            while (codePoints.hasNext()) {
-                int codePoint = codePoints.nextInt();
-                if (!treatAsText && Token.isEscapeCharacter(codePoint)) {
-                    escaped++;
-                    treatAsText = true;
-                    continue;
-                }
-                currentTokenType = tokenTypeOf(codePoint, treatAsText);
-                treatAsText = false;
-
-                if (previousTokenType == Token.Type.START_OF_LINE ||
-                        shouldContinueTokenType(previousTokenType, currentTokenType)) {
-                    advanceTokenTypes();
-                    buffer.appendCodePoint(codePoint);
-                } else {
-                    Token t = convertBufferToToken(requireNonNull(previousTokenType));
-                    advanceTokenTypes();
-                    buffer.appendCodePoint(codePoint);
-                    return t;
-                }
-            }
-
-            if (!buffer.isEmpty()) {
-                Token token = convertBufferToToken(requireNonNull(previousTokenType));
-                advanceTokenTypes();
-                return token;
-            }
-
-            currentTokenType = Token.Type.END_OF_LINE;
-            if (treatAsText) {
-                throw createTheEndOfLineCanNotBeEscaped(expression);
-            }
-            Token token = convertBufferToToken(currentTokenType);
-            advanceTokenTypes();
-            return token;
+    private static boolean canEscape(int codePoint) {
+        if (codePoint < 128) {
+            return ASCII_CAN_ESCAPE[codePoint];
         }
-
+        return Token.canEscape(codePoint);
     }
 
 }
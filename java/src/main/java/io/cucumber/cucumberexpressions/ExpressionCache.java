@@ -0,0 +1,67 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded least recently used cache of expressions by their source.
+ * <p>
+ * Expressions depend on the registry they were created with. All cached
+ * expressions are evicted when the generation of the registry changes.
+ * Expressions that could not be created are not cached, so they are created
+ * again once the parameter types they referred to are defined.
+ */
+final class ExpressionCache {
+    private final int maximumSize;
+    private final Map<String, Expression> expressions;
+    private int generation;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    ExpressionCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive, but was " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.expressions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+                if (size() > ExpressionCache.this.maximumSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    synchronized @Nullable Expression get(String source, int generation) {
+        if (this.generation != generation) {
+            evictionCount += expressions.size();
+            expressions.clear();
+            this.generation = generation;
+        }
+        Expression expression = expressions.get(source);
+        if (expression == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return expression;
+    }
+
+    synchronized void put(String source, int generation, Expression expression) {
+        // The registry changed while the expression was created
+        if (this.generation != generation) {
+            return;
+        }
+        expressions.put(source, expression);
+    }
+
+    synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount);
+    }
+}
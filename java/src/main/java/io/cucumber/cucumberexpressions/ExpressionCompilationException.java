@@ -0,0 +1,47 @@
+package io.cucumber.cucumberexpressions;
+
+import org.apiguardian.api.API;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thrown by {@link ExpressionFactory#createExpressions(java.util.Collection)}
+ * when one or more expressions could not be created. Each failure is also
+ * added as a {@linkplain #getSuppressed() suppressed} exception.
+ */
+@API(since = "20.2", status = API.Status.EXPERIMENTAL)
+public final class ExpressionCompilationException extends CucumberExpressionException {
+
+    private final Map<String, RuntimeException> failures;
+
+    ExpressionCompilationException(Map<String, RuntimeException> failures) {
+        super(message(failures));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+        failures.values().forEach(this::addSuppressed);
+    }
+
+    /**
+     * Returns why each expression could not be created, by its source, in
+     * the order the sources were given.
+     *
+     * @return the failures by expression source
+     */
+    public Map<String, RuntimeException> getFailures() {
+        return failures;
+    }
+
+    private static String message(Map<String, RuntimeException> failures) {
+        StringBuilder message = new StringBuilder()
+                .append(failures.size())
+                .append(failures.size() == 1 ? " expression" : " expressions")
+                .append(" could not be created:");
+        failures.forEach((source, failure) -> message
+                .append("\n\n")
+                .append(source)
+                .append("\n")
+                .append(failure.getMessage()));
+        return message.toString();
+    }
+}
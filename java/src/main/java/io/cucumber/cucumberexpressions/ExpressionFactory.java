@@ -1,7 +1,20 @@
 package io.cucumber.cucumberexpressions;
 
 import org.apiguardian.api.API;
+import org.jspecify.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
@@ -13,6 +26,17 @@ import java.util.regex.PatternSyntaxException;
  * <p>A string that starts with `^` and/or ends with `$` (or written in script style, i.e. starting with `/`
  * and ending with `/`) is considered a regular expression.
  * Everything else is considered a Cucumber expression.
+ *
+ * <p>Optionally created expressions are cached by their source. Cached
+ * expressions are evicted when the default parameter transformer is changed.
+ * Defining a parameter type does not change the expressions that were
+ * already created, so they are kept. Expressions that could not be created,
+ * for example because they referred to a parameter type that was not yet
+ * defined, are not cached.
+ *
+ * <p>Optionally Cucumber expressions are restored from a
+ * {@link CompiledExpressionStore}. When expressions are cached as well, the
+ * store is only consulted for expressions that are not cached.
  */
 @API(status = API.Status.STABLE)
 public final class ExpressionFactory {
@@ -20,12 +44,156 @@ public final class ExpressionFactory {
     private static final Pattern PARAMETER_PATTERN = Pattern.compile("((?:\\\\){0,2})\\{([^}]*)\\}");
 
     private final ParameterTypeRegistry parameterTypeRegistry;
+    private final @Nullable ExpressionCache expressionCache;
+    private final @Nullable CompiledExpressionStore expressionStore;
 
     public ExpressionFactory(ParameterTypeRegistry parameterTypeRegistry) {
         this.parameterTypeRegistry = parameterTypeRegistry;
+        this.expressionCache = null;
+        this.expressionStore = null;
+    }
+
+    /**
+     * Creates an expression factory that caches created expressions.
+     *
+     * @param parameterTypeRegistry used to look up parameter types
+     * @param maximumCacheSize      the maximum number of cached expressions,
+     *                              the least recently used expression is
+     *                              evicted first
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public ExpressionFactory(ParameterTypeRegistry parameterTypeRegistry, int maximumCacheSize) {
+        this.parameterTypeRegistry = parameterTypeRegistry;
+        this.expressionCache = new ExpressionCache(maximumCacheSize);
+        this.expressionStore = null;
+    }
+
+    /**
+     * Creates an expression factory that caches created expressions, and
+     * restores Cucumber expressions that are not cached from the store
+     * rather than compiling them.
+     *
+     * @param parameterTypeRegistry used to look up parameter types
+     * @param maximumCacheSize      the maximum number of cached expressions,
+     *                              the least recently used expression is
+     *                              evicted first
+     * @param expressionStore       the store of compiled expressions
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public ExpressionFactory(ParameterTypeRegistry parameterTypeRegistry, int maximumCacheSize, CompiledExpressionStore expressionStore) {
+        this.parameterTypeRegistry = parameterTypeRegistry;
+        this.expressionCache = new ExpressionCache(maximumCacheSize);
+        this.expressionStore = expressionStore;
+    }
+
+    /**
+     * Creates an expression factory that restores Cucumber expressions from
+     * the store rather than compiling them, and adds the expressions it had
+     * to compile to the store.
+     * <p>
+     * Every expression is restored again each time it is created, use
+     * {@link #ExpressionFactory(ParameterTypeRegistry, int, CompiledExpressionStore)}
+     * to also cache the restored expressions.
+     *
+     * @param parameterTypeRegistry used to look up parameter types
+     * @param expressionStore       the store of compiled expressions
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public ExpressionFactory(ParameterTypeRegistry parameterTypeRegistry, CompiledExpressionStore expressionStore) {
+        this.parameterTypeRegistry = parameterTypeRegistry;
+        this.expressionCache = null;
+        this.expressionStore = expressionStore;
     }
 
     public Expression createExpression(String expressionString) {
+        if (expressionCache == null) {
+            return compileExpression(expressionString);
+        }
+        int generation = parameterTypeRegistry.getGeneration();
+        Expression expression = expressionCache.get(expressionString, generation);
+        if (expression == null) {
+            expression = compileExpression(expressionString);
+            expressionCache.put(expressionString, generation, expression);
+        }
+        return expression;
+    }
+
+    /**
+     * Creates the expressions for all given sources, compiling them in
+     * parallel on the {@linkplain ForkJoinPool#commonPool() common pool}.
+     *
+     * @param expressionStrings the sources of the expressions
+     * @return the expressions by their source
+     * @throws ExpressionCompilationException if any expression could not be created
+     * @see #createExpressions(Collection, Executor)
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public Map<String, Expression> createExpressions(Collection<String> expressionStrings) {
+        return createExpressions(expressionStrings, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates the expressions for all given sources, compiling them in
+     * parallel on the given executor.
+     * <p>
+     * Each distinct source is compiled once. Expressions are cached or stored
+     * as if created by {@link #createExpression(String)}. Rather than failing
+     * on the first invalid expression, all expressions are compiled and the
+     * failures are reported together.
+     *
+     * @param expressionStrings the sources of the expressions
+     * @param executor          used to compile the expressions
+     * @return the expressions by their source, in the order the sources were given
+     * @throws ExpressionCompilationException if any expression could not be created
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public Map<String, Expression> createExpressions(Collection<String> expressionStrings, Executor executor) {
+        Set<String> distinct = new LinkedHashSet<>(expressionStrings);
+        List<CompletableFuture<Expression>> futures = new ArrayList<>(distinct.size());
+        for (String expressionString : distinct) {
+            futures.add(CompletableFuture.supplyAsync(() -> createExpression(expressionString), executor));
+        }
+
+        Map<String, Expression> expressions = new LinkedHashMap<>();
+        Map<String, RuntimeException> failures = new LinkedHashMap<>();
+        int i = 0;
+        for (String expressionString : distinct) {
+            try {
+                expressions.put(expressionString, futures.get(i++).join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof CucumberExpressionException || cause instanceof PatternSyntaxException) {
+                    failures.put(expressionString, (RuntimeException) cause);
+                } else if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                } else if (cause instanceof Error error) {
+                    throw error;
+                } else {
+                    throw e;
+                }
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new ExpressionCompilationException(failures);
+        }
+        return Collections.unmodifiableMap(expressions);
+    }
+
+    /**
+     * Returns the statistics of the expression cache. All counts are zero
+     * when expressions are not cached.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public CacheStatistics getCacheStatistics() {
+        if (expressionCache == null) {
+            return new CacheStatistics(0, 0, 0);
+        }
+        return expressionCache.getStatistics();
+    }
+
+    private Expression compileExpression(String expressionString) {
         /* This method is called often (typically about number_of_steps x
          * nbr_test_scenarios), thus performance is more important than
          * readability here.
@@ -36,7 +204,7 @@ public final class ExpressionFactory {
          */
         int length = expressionString.length();
         if (length == 0) {
-            return new CucumberExpression(expressionString, this.parameterTypeRegistry);
+            return createCucumberExpression(expressionString);
         }
 
         int lastCharIndex = length - 1;
@@ -49,7 +217,19 @@ public final class ExpressionFactory {
             return new RegularExpression(Pattern.compile(expressionString.substring(1, lastCharIndex)), this.parameterTypeRegistry);
         }
 
-        return new CucumberExpression(expressionString, this.parameterTypeRegistry);
+        return createCucumberExpression(expressionString);
+    }
+
+    private CucumberExpression createCucumberExpression(String expressionString) {
+        if (expressionStore == null) {
+            return new CucumberExpression(expressionString, this.parameterTypeRegistry);
+        }
+        CucumberExpression expression = expressionStore.get(expressionString, parameterTypeRegistry);
+        if (expression == null) {
+            expression = new CucumberExpression(expressionString, this.parameterTypeRegistry);
+            expressionStore.put(expression);
+        }
+        return expression;
     }
 
     private RegularExpression createRegularExpressionWithAnchors(String expressionString) {
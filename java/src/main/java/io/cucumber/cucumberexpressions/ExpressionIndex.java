@@ -0,0 +1,171 @@
+package io.cucumber.cucumberexpressions;
+
+import org.apiguardian.api.API;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static io.cucumber.cucumberexpressions.FlatAst.NONE;
+import static io.cucumber.cucumberexpressions.Node.Type.TEXT_NODE;
+import static java.util.Objects.requireNonNull;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * Indexes many {@link Expression expressions} so a text only has to be
+ * matched against the expressions that can possibly match it.
+ * <p>
+ * A {@link CucumberExpression} is indexed by one of its literal words. A
+ * literal word is text outside of parameters, optionals and alternations that
+ * is delimited by whitespace or the start and end of the expression. Any text
+ * matched by the expression must contain that word delimited by whitespace.
+ * Of all literal words the least common one in the index is used.
+ * <p>
+ * Expressions without literal words, expressions compiled with flags that
+ * let them match other text than their literal words, such as
+ * {@link java.util.regex.Pattern#CASE_INSENSITIVE}, and
+ * {@link RegularExpression regular expressions} are not indexed and always
+ * considered a candidate.
+ * <p>
+ * The index is immutable and can be shared between threads.
+ */
+@API(since = "20.2", status = EXPERIMENTAL)
+public final class ExpressionIndex {
+
+    private final List<Expression> expressions;
+    private final Map<String, BitSet> expressionsByWord = new HashMap<>();
+    private final BitSet unindexedExpressions = new BitSet();
+
+    public ExpressionIndex(Collection<? extends Expression> expressions) {
+        this.expressions = List.copyOf(expressions);
+
+        List<Set<String>> literalWordsByExpression = new ArrayList<>(this.expressions.size());
+        Map<String, Integer> frequencyByWord = new HashMap<>();
+        for (Expression expression : this.expressions) {
+            Set<String> literalWords = literalWords(expression);
+            literalWordsByExpression.add(literalWords);
+            for (String literalWord : literalWords) {
+                frequencyByWord.merge(literalWord, 1, Integer::sum);
+            }
+        }
+
+        for (int i = 0; i < this.expressions.size(); i++) {
+            String leastFrequentWord = null;
+            int leastFrequency = Integer.MAX_VALUE;
+            for (String literalWord : literalWordsByExpression.get(i)) {
+                int frequency = requireNonNull(frequencyByWord.get(literalWord));
+                if (frequency < leastFrequency) {
+                    leastFrequentWord = literalWord;
+                    leastFrequency = frequency;
+                }
+            }
+            if (leastFrequentWord == null) {
+                unindexedExpressions.set(i);
+            } else {
+                expressionsByWord.computeIfAbsent(leastFrequentWord, word -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    /**
+     * Returns the expressions that can possibly match the text, in the order
+     * they were indexed.
+     *
+     * @param text the text to match
+     * @return the candidate expressions, possibly empty
+     */
+    public List<Expression> candidates(String text) {
+        BitSet candidates = (BitSet) unindexedExpressions.clone();
+        int length = text.length();
+        int wordStart = -1;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && !Character.isWhitespace(text.charAt(i))) {
+                if (wordStart < 0) {
+                    wordStart = i;
+                }
+            } else if (wordStart >= 0) {
+                BitSet indexed = expressionsByWord.get(text.substring(wordStart, i));
+                if (indexed != null) {
+                    candidates.or(indexed);
+                }
+                wordStart = -1;
+            }
+        }
+
+        List<Expression> result = new ArrayList<>(candidates.cardinality());
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            result.add(expressions.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Matches the text against all candidate expressions.
+     * <p>
+     * The result is empty when no expression matched, and contains more than
+     * one element when the text is ambiguous.
+     *
+     * @param text the text to match
+     * @return the matching expressions and their arguments, in the order they
+     * were indexed
+     */
+    public List<ExpressionMatch> match(String text) {
+        List<ExpressionMatch> matches = new ArrayList<>(1);
+        for (Expression candidate : candidates(text)) {
+            Optional<List<Argument<?>>> arguments = candidate.match(text);
+            arguments.ifPresent(args -> matches.add(new ExpressionMatch(candidate, args)));
+        }
+        return matches;
+    }
+
+    private static Set<String> literalWords(Expression expression) {
+        Set<String> literalWords = new LinkedHashSet<>();
+        if (!(expression instanceof CucumberExpression cucumberExpression)) {
+            return literalWords;
+        }
+        if ((cucumberExpression.getRegexp().flags() & RequiredLiterals.INCOMPATIBLE_FLAGS) != 0) {
+            return literalWords;
+        }
+        FlatAst ast = cucumberExpression.getAst();
+        StringBuilder literal = new StringBuilder();
+        boolean literalAtStart = true;
+        for (int node = ast.firstChild(0); node != NONE; node = ast.nextSibling(node)) {
+            if (ast.type(node) == TEXT_NODE) {
+                literal.append(ast.text(node));
+                continue;
+            }
+            addDelimitedWords(literal, literalAtStart, false, literalWords);
+            literal.setLength(0);
+            literalAtStart = false;
+        }
+        addDelimitedWords(literal, literalAtStart, true, literalWords);
+        return literalWords;
+    }
+
+    private static void addDelimitedWords(CharSequence literal, boolean atStart, boolean atEnd, Set<String> words) {
+        int length = literal.length();
+        int wordStart = -1;
+        for (int i = 0; i <= length; i++) {
+            if (i < length && !Character.isWhitespace(literal.charAt(i))) {
+                if (wordStart < 0) {
+                    wordStart = i;
+                }
+            } else if (wordStart >= 0) {
+                // A word next to a parameter, optional or alternation may be
+                // part of a longer word in the matched text.
+                boolean leftDelimited = wordStart > 0 || atStart;
+                boolean rightDelimited = i < length || atEnd;
+                if (leftDelimited && rightDelimited) {
+                    words.add(literal.subSequence(wordStart, i).toString());
+                }
+                wordStart = -1;
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.cucumber.cucumberexpressions;
+
+import org.apiguardian.api.API;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * An {@link Expression} that matched a text, and the {@link Argument arguments}
+ * it matched with.
+ */
+@API(since = "20.2", status = EXPERIMENTAL)
+public final class ExpressionMatch {
+    private final Expression expression;
+    private final List<Argument<?>> arguments;
+
+    ExpressionMatch(Expression expression, List<Argument<?>> arguments) {
+        this.expression = requireNonNull(expression);
+        this.arguments = requireNonNull(arguments);
+    }
+
+    public Expression getExpression() {
+        return expression;
+    }
+
+    public List<Argument<?>> getArguments() {
+        return arguments;
+    }
+}
@@ -0,0 +1,90 @@
+package io.cucumber.cucumberexpressions;
+
+import org.apiguardian.api.API;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Receives measurements of the work done by this library, e.g. to find slow
+ * parameter types. Durations are in nanoseconds.
+ * <p>
+ * Clients that want to receive measurements should provide resource
+ * {@code META-INF/services/io.cucumber.cucumberexpressions.ExpressionMetrics}
+ * pointing to an implementation of this interface. Without an implementation
+ * nothing is measured.
+ * <p>
+ * Methods are called on the thread that did the work, and may be called from
+ * many threads at once. They should return quickly and not throw.
+ *
+ * @see java.util.ServiceLoader
+ */
+@API(since = "20.2", status = API.Status.EXPERIMENTAL)
+public interface ExpressionMetrics {
+
+    /**
+     * Called after a Cucumber expression was parsed.
+     *
+     * @param expression the source of the expression
+     * @param nanos      the time it took to parse
+     */
+    default void expressionParsed(String expression, long nanos) {
+    }
+
+    /**
+     * Called after a {@link CucumberExpression} or {@link RegularExpression}
+     * was created, including the time to parse it.
+     *
+     * @param expression the source of the expression
+     * @param nanos      the time it took to create
+     */
+    default void expressionCompiled(String expression, long nanos) {
+    }
+
+    /**
+     * Called after a text was matched against an expression with
+     * {@link Expression#match(String, java.lang.reflect.Type...)}.
+     *
+     * @param expression the source of the expression
+     * @param matched    whether the text matched
+     * @param nanos      the time it took to match
+     */
+    default void expressionMatched(String expression, boolean matched, long nanos) {
+    }
+
+    /**
+     * Called after a text was matched against a regexp. Cucumber expressions
+     * only run their regexp when the text contains their literal text.
+     * Expressions matched by a {@link CombinedExpressionMatcher} are reported
+     * as one match of the combined regexp.
+     *
+     * @param regexp  the regexp
+     * @param matched whether the text matched
+     * @param nanos   the time it took to match
+     */
+    default void regexpMatched(String regexp, boolean matched, long nanos) {
+    }
+
+    /**
+     * Called after a parameter type transformed the text of an argument.
+     *
+     * @param parameterTypeName the name of the parameter type,
+     *                          {@code anonymous} for anonymous parameter
+     *                          types
+     * @param nanos             the time it took to transform
+     * @param failure           why the transform failed, or {@code null} if
+     *                          it succeeded
+     */
+    default void parameterTransformed(String parameterTypeName, long nanos, @Nullable Throwable failure) {
+    }
+
+    /**
+     * Called after a {@link CucumberExpressionGenerator} generated
+     * expressions for a text. For
+     * {@link CucumberExpressionGenerator#streamExpressions(String)} this
+     * is the time it took to find the parameters in the text.
+     *
+     * @param text  the text
+     * @param nanos the time it took to generate
+     */
+    default void expressionsGenerated(String text, long nanos) {
+    }
+}
@@ -0,0 +1,60 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceLoader;
+
+final class ExpressionMetricsProvider {
+    private static final ExpressionMetrics NONE = new ExpressionMetrics() {
+    };
+
+    // visible from tests
+    static volatile @Nullable ExpressionMetrics service;
+
+    private ExpressionMetricsProvider() {
+    }
+
+    /**
+     * Returns the metrics to report to, or {@code null} if there are none.
+     * Callers check for {@code null} before measuring, so that nothing is
+     * measured without metrics.
+     */
+    static @Nullable ExpressionMetrics getMetrics() {
+        // Avoid taking a lock on every call after the service has been loaded
+        ExpressionMetrics metrics = service;
+        if (metrics == null) {
+            synchronized (ExpressionMetricsProvider.class) {
+                metrics = service;
+                if (metrics == null) {
+                    ServiceLoader<ExpressionMetrics> loader = ServiceLoader.load(ExpressionMetrics.class);
+                    metrics = findMetrics(loader.iterator());
+                    service = metrics;
+                }
+            }
+        }
+        return metrics == NONE ? null : metrics;
+    }
+
+    static ExpressionMetrics findMetrics(Iterator<ExpressionMetrics> iterator) {
+        if (iterator.hasNext()) {
+            ExpressionMetrics service = iterator.next();
+            if (iterator.hasNext()) {
+                throwMoreThanOneMetricsException(service, iterator);
+            }
+            return service;
+        }
+        return NONE;
+    }
+
+    private static void throwMoreThanOneMetricsException(ExpressionMetrics service, Iterator<ExpressionMetrics> iterator) {
+        List<Class<? extends ExpressionMetrics>> allMetrics = new ArrayList<>();
+        allMetrics.add(service.getClass());
+        while (iterator.hasNext()) {
+            allMetrics.add(iterator.next().getClass());
+        }
+        throw new IllegalStateException("More than one ExpressionMetrics: " + allMetrics);
+    }
+}
@@ -0,0 +1,233 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The AST of a Cucumber expression, stored as arrays rather than as a tree of
+ * {@link Node nodes}.
+ * <p>
+ * Nodes are identified by their index. The root is {@code 0} and the nodes
+ * are stored in pre-order. The children of a node are found by following
+ * {@link #firstChild(int)} and then {@link #nextSibling(int)} until
+ * {@link #NONE}.
+ * <p>
+ * {@link #toNode()} creates the equivalent tree of nodes when needed.
+ */
+final class FlatAst {
+
+    static final int NONE = -1;
+
+    private static final Node.Type[] TYPES = Node.Type.values();
+
+    private final int size;
+    private final int[] types;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] firstChildren;
+    private final int[] nextSiblings;
+    private final @Nullable String[] tokens;
+
+    FlatAst(int size, int[] types, int[] starts, int[] ends, int[] firstChildren, int[] nextSiblings, @Nullable String[] tokens) {
+        this.size = size;
+        this.types = types;
+        this.starts = starts;
+        this.ends = ends;
+        this.firstChildren = firstChildren;
+        this.nextSiblings = nextSiblings;
+        this.tokens = tokens;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Node.Type type(int node) {
+        return TYPES[types[node]];
+    }
+
+    int start(int node) {
+        return starts[node];
+    }
+
+    int end(int node) {
+        return ends[node];
+    }
+
+    int firstChild(int node) {
+        return firstChildren[node];
+    }
+
+    int nextSibling(int node) {
+        return nextSiblings[node];
+    }
+
+    /**
+     * Returns the text of a leaf node, {@code null} otherwise.
+     */
+    @Nullable
+    String token(int node) {
+        return tokens[node];
+    }
+
+    String text(int node) {
+        String token = tokens[node];
+        if (token != null) {
+            return token;
+        }
+        StringBuilder text = new StringBuilder();
+        appendText(node, text);
+        return text.toString();
+    }
+
+    private void appendText(int node, StringBuilder text) {
+        String token = tokens[node];
+        if (token != null) {
+            text.append(token);
+            return;
+        }
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            appendText(child, text);
+        }
+    }
+
+    Node toNode() {
+        return toNode(0);
+    }
+
+    Node toNode(int node) {
+        String token = tokens[node];
+        if (token != null) {
+            return new Node(type(node), starts[node], ends[node], token);
+        }
+        List<Node> nodes = new ArrayList<>();
+        for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+            nodes.add(toNode(child));
+        }
+        return new Node(type(node), starts[node], ends[node], nodes);
+    }
+
+    /**
+     * Adds nodes in any order, and links them into a tree afterwards.
+     */
+    static final class Builder {
+        private int size;
+        private int[] types = new int[16];
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int[] firstChildren = new int[16];
+        private int[] nextSiblings = new int[16];
+        private @Nullable String[] tokens = new String[16];
+
+        int size() {
+            return size;
+        }
+
+        int addLeaf(Node.Type type, int start, int end, String token) {
+            return add(type, start, end, token);
+        }
+
+        int addParent(Node.Type type, int start, int end) {
+            return add(type, start, end, null);
+        }
+
+        private int add(Node.Type type, int start, int end, @Nullable String token) {
+            if (size == types.length) {
+                int capacity = size * 2;
+                types = Arrays.copyOf(types, capacity);
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                firstChildren = Arrays.copyOf(firstChildren, capacity);
+                nextSiblings = Arrays.copyOf(nextSiblings, capacity);
+                tokens = Arrays.copyOf(tokens, capacity);
+            }
+            types[size] = type.ordinal();
+            starts[size] = start;
+            ends[size] = end;
+            firstChildren[size] = NONE;
+            nextSiblings[size] = NONE;
+            tokens[size] = token;
+            return size++;
+        }
+
+        Node.Type type(int node) {
+            return TYPES[types[node]];
+        }
+
+        int start(int node) {
+            return starts[node];
+        }
+
+        int end(int node) {
+            return ends[node];
+        }
+
+        int firstChild(int node) {
+            return firstChildren[node];
+        }
+
+        int nextSibling(int node) {
+            return nextSiblings[node];
+        }
+
+        void setEnd(int node, int end) {
+            ends[node] = end;
+        }
+
+        void setFirstChild(int node, int firstChild) {
+            firstChildren[node] = firstChild;
+        }
+
+        void setNextSibling(int node, int nextSibling) {
+            nextSiblings[node] = nextSibling;
+        }
+
+        /**
+         * Removes the nodes added since the builder had the given size.
+         */
+        void truncate(int size) {
+            Arrays.fill(tokens, size, this.size, null);
+            this.size = size;
+        }
+
+        /**
+         * Creates the AST of the tree rooted at the given node. Nodes that
+         * are not part of that tree are left out.
+         */
+        FlatAst build(int root) {
+            int[] order = new int[size];
+            int count = collect(root, order, 0);
+            int[] newIndexes = new int[size];
+            for (int i = 0; i < count; i++) {
+                newIndexes[order[i]] = i;
+            }
+            int[] newTypes = new int[count];
+            int[] newStarts = new int[count];
+            int[] newEnds = new int[count];
+            int[] newFirstChildren = new int[count];
+            int[] newNextSiblings = new int[count];
+            @Nullable String[] newTokens = new String[count];
+            for (int i = 0; i < count; i++) {
+                int node = order[i];
+                newTypes[i] = types[node];
+                newStarts[i] = starts[node];
+                newEnds[i] = ends[node];
+                newFirstChildren[i] = firstChildren[node] == NONE ? NONE : newIndexes[firstChildren[node]];
+                newNextSiblings[i] = nextSiblings[node] == NONE || node == root ? NONE : newIndexes[nextSiblings[node]];
+                newTokens[i] = tokens[node];
+            }
+            return new FlatAst(count, newTypes, newStarts, newEnds, newFirstChildren, newNextSiblings, newTokens);
+        }
+
+        private int collect(int node, int[] order, int count) {
+            order[count++] = node;
+            for (int child = firstChildren[node]; child != NONE; child = nextSiblings[child]) {
+                count = collect(child, order, count);
+            }
+            return count;
+        }
+    }
+}
@@ -3,9 +3,7 @@ package io.cucumber.cucumberexpressions;
 import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
 
 import static java.util.Objects.requireNonNull;
 
@@ -25,18 +23,27 @@ final class GroupBuilder {
         groupBuilders.add(groupBuilder);
     }
 
-    Group build(Matcher matcher, Iterator<Integer> groupIndices) {
-        int groupIndex = groupIndices.next();
-        List<Group> children = new ArrayList<>(groupBuilders.size());
-        for (GroupBuilder childGroupBuilder : groupBuilders) {
-            children.add(childGroupBuilder.build(matcher, groupIndices));
+    /**
+     * Flattens the tree of capturing groups into an array indexed by
+     * capture group index. Each element holds the capture group indexes of
+     * the child groups.
+     */
+    int[][] flatten() {
+        List<int[]> childGroupIndexes = new ArrayList<>();
+        flatten(childGroupIndexes);
+        return childGroupIndexes.toArray(new int[0][]);
+    }
+
+    private int flatten(List<int[]> childGroupIndexes) {
+        // Capture groups are numbered in pre-order
+        int groupIndex = childGroupIndexes.size();
+        childGroupIndexes.add(new int[0]);
+        int[] children = new int[groupBuilders.size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = groupBuilders.get(i).flatten(childGroupIndexes);
         }
-        return new Group(
-                matcher.group(groupIndex), //
-                matcher.start(groupIndex),  //
-                matcher.end(groupIndex),  //
-                children.isEmpty() ? null : children //
-        );
+        childGroupIndexes.set(groupIndex, children);
+        return groupIndex;
     }
 
     List<Group> toGroups() {
@@ -0,0 +1,89 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * The start and end of each capture group in a match, without the
+ * {@link Group} tree.
+ * <p>
+ * Groups and their values are only created when requested. Groups are
+ * identified by their capture group index. The layout of the tree is
+ * precomputed by {@link GroupBuilder#flatten()}.
+ */
+final class GroupMatch {
+    private final CharSequence text;
+    private final int[] bounds;
+    private final int[][] childGroupIndexes;
+
+    /**
+     * @param text              the matched text
+     * @param bounds            the start and end of each capture group, a
+     *                          negative start if the group did not match
+     * @param childGroupIndexes the child groups of each group
+     */
+    GroupMatch(CharSequence text, int[] bounds, int[][] childGroupIndexes) {
+        this.text = text;
+        this.bounds = bounds;
+        this.childGroupIndexes = childGroupIndexes;
+    }
+
+    CharSequence getText() {
+        return text;
+    }
+
+    int[] getChildGroupIndexes(int groupIndex) {
+        return childGroupIndexes[groupIndex];
+    }
+
+    int getStart(int groupIndex) {
+        return bounds[2 * groupIndex];
+    }
+
+    int getEnd(int groupIndex) {
+        return bounds[2 * groupIndex + 1];
+    }
+
+    @Nullable
+    String getValue(int groupIndex) {
+        int start = getStart(groupIndex);
+        if (start < 0) {
+            return null;
+        }
+        return text.subSequence(start, getEnd(groupIndex)).toString();
+    }
+
+    /**
+     * Returns the values of the child groups, or the value of the group
+     * itself if it has no children.
+     *
+     * @see Group#getValues()
+     */
+    List<@Nullable String> getValues(int groupIndex) {
+        int[] children = childGroupIndexes[groupIndex];
+        if (children.length == 0) {
+            return singletonList(getValue(groupIndex));
+        }
+        List<@Nullable String> values = new ArrayList<>(children.length);
+        for (int child : children) {
+            values.add(getValue(child));
+        }
+        return values;
+    }
+
+    Group toGroup(int groupIndex) {
+        int[] children = childGroupIndexes[groupIndex];
+        List<Group> childGroups = null;
+        if (children.length > 0) {
+            childGroups = new ArrayList<>(children.length);
+            for (int child : children) {
+                childGroups.add(toGroup(child));
+            }
+        }
+        return new Group(getValue(groupIndex), getStart(groupIndex), getEnd(groupIndex), childGroups);
+    }
+}
@@ -0,0 +1,33 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.regex.Pattern;
+
+/**
+ * Matches a whole text against a regular expression, independent of the
+ * engine that does the matching.
+ * <p>
+ * Implementations are immutable and can be shared between threads.
+ */
+interface GroupMatcher {
+
+    /**
+     * Creates a matcher for the pattern. Uses {@link LinearGroupMatcher}
+     * when the pattern only uses syntax it supports, and
+     * {@code java.util.regex} otherwise.
+     */
+    static GroupMatcher create(Pattern pattern) {
+        PatternGroupMatcher patternGroupMatcher = new PatternGroupMatcher(pattern);
+        LinearGroupMatcher linearGroupMatcher = LinearRegexCompiler.compile(pattern, patternGroupMatcher);
+        return linearGroupMatcher != null ? linearGroupMatcher : patternGroupMatcher;
+    }
+
+    /**
+     * @param text the text to match
+     * @return the start and end of each capture group as used by
+     * {@link GroupMatch}, or {@code null} if the text did not match
+     */
+    int @Nullable [] match(CharSequence text);
+
+}
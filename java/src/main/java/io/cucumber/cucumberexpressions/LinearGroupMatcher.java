@@ -0,0 +1,222 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Matches in time linear in the length of the text, regardless of the
+ * pattern.
+ * <p>
+ * The program created by {@link LinearRegexCompiler} is executed by a
+ * backtracking search that tries alternatives in the same order as
+ * {@code java.util.regex}, and so finds the same capture groups. Unlike
+ * {@code java.util.regex} it remembers which instructions it already tried
+ * at which position. Because the outcome from there does not depend on how
+ * it got there, each combination is tried at most once. This bounds the
+ * time to the number of instructions times the length of the text.
+ * <p>
+ * Remembering costs a bit per combination. Texts too long to remember all
+ * combinations for are matched by the fallback instead.
+ */
+final class LinearGroupMatcher implements GroupMatcher {
+    static final int CHAR = 0;
+    static final int CLASS = 1;
+    static final int SPLIT = 2;
+    static final int JUMP = 3;
+    static final int SAVE = 4;
+    static final int BEGIN = 5;
+    static final int END = 6;
+    static final int MATCH = 7;
+
+    private static final long MAX_VISITED_BITS = 1L << 25;
+    /**
+     * Larger buffers are not kept for the next match, so that a long text
+     * does not hold on to memory for the life of the thread.
+     */
+    private static final int MAX_RETAINED_LENGTH = 1 << 12;
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final int[] opcodes;
+    private final int[] arguments;
+    private final int[] alternatives;
+    private final @Nullable IntPredicate[] classes;
+    private final int slots;
+    private final GroupMatcher fallback;
+
+    /**
+     * @param opcodes      the instructions
+     * @param arguments    the code point of a {@code CHAR}, the preferred
+     *                     target of a {@code SPLIT}, the target of a
+     *                     {@code JUMP} or the slot of a {@code SAVE}
+     * @param alternatives the other target of a {@code SPLIT}
+     * @param classes      the predicate of a {@code CLASS}
+     * @param groupCount   the number of capture groups
+     * @param fallback     used for texts that are too long
+     */
+    LinearGroupMatcher(int[] opcodes, int[] arguments, int[] alternatives, @Nullable IntPredicate[] classes, int groupCount, GroupMatcher fallback) {
+        this.opcodes = opcodes;
+        this.arguments = arguments;
+        this.alternatives = alternatives;
+        this.classes = classes;
+        this.slots = 2 * (groupCount + 1);
+        this.fallback = fallback;
+    }
+
+    @Override
+    public int @Nullable [] match(CharSequence text) {
+        int length = text.length();
+        int positions = length + 1;
+        long visitedBits = (long) opcodes.length * positions;
+        if (visitedBits > MAX_VISITED_BITS) {
+            return fallback.match(text);
+        }
+        Buffers buffers = BUFFERS.get();
+        long[] visited = buffers.visited((int) ((visitedBits + 63) >>> 6));
+        int[] bounds = buffers.bounds(slots);
+
+        // Pairs of instruction and position to try. A negative instruction
+        // restores a slot to its previous value instead.
+        int[] stack = buffers.stack;
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = 0;
+
+        while (top > 0) {
+            int position = stack[--top];
+            int instruction = stack[--top];
+            if (instruction < 0) {
+                bounds[-instruction - 1] = position;
+                continue;
+            }
+            while (true) {
+                long bit = (long) instruction * positions + position;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((visited[word] & mask) != 0) {
+                    break;
+                }
+                visited[word] |= mask;
+
+                int opcode = opcodes[instruction];
+                if (opcode == CHAR || opcode == CLASS) {
+                    if (position == length) {
+                        break;
+                    }
+                    int codePoint = Character.codePointAt(text, position);
+                    boolean matches = opcode == CHAR
+                            ? codePoint == arguments[instruction]
+                            : test(instruction, codePoint);
+                    if (!matches) {
+                        break;
+                    }
+                    position += Character.charCount(codePoint);
+                    instruction++;
+                } else if (opcode == SPLIT) {
+                    if (top + 4 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[top++] = alternatives[instruction];
+                    stack[top++] = position;
+                    instruction = arguments[instruction];
+                } else if (opcode == JUMP) {
+                    instruction = arguments[instruction];
+                } else if (opcode == SAVE) {
+                    if (top + 4 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    int slot = arguments[instruction];
+                    stack[top++] = -slot - 1;
+                    stack[top++] = bounds[slot];
+                    bounds[slot] = position;
+                    instruction++;
+                } else if (opcode == BEGIN) {
+                    if (position != 0) {
+                        break;
+                    }
+                    instruction++;
+                } else if (opcode == END) {
+                    if (!isEnd(text, position)) {
+                        break;
+                    }
+                    instruction++;
+                } else {
+                    // MATCH, but only of the whole text
+                    if (position == length) {
+                        buffers.retain(stack);
+                        return Arrays.copyOf(bounds, slots);
+                    }
+                    break;
+                }
+            }
+        }
+        buffers.retain(stack);
+        return null;
+    }
+
+    private boolean test(int instruction, int codePoint) {
+        IntPredicate predicate = classes[instruction];
+        return predicate != null && predicate.test(codePoint);
+    }
+
+    /**
+     * Whether {@code $} matches at the position. Without
+     * {@link java.util.regex.Pattern#MULTILINE} that is the end of the text,
+     * or before a line terminator at the end of the text.
+     */
+    static boolean isEnd(CharSequence text, int position) {
+        int length = text.length();
+        if (position < length - 2) {
+            return false;
+        }
+        if (position == length - 2) {
+            return text.charAt(position) == '\r' && text.charAt(position + 1) == '\n';
+        }
+        if (position == length - 1) {
+            char c = text.charAt(position);
+            if (c == '\n') {
+                // Not between \r and \n
+                return position == 0 || text.charAt(position - 1) != '\r';
+            }
+            return c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+        }
+        return true;
+    }
+
+    /**
+     * The memory of a match, reused by the next match on the same thread so
+     * that a text that does not match allocates nothing.
+     */
+    private static final class Buffers {
+        private long[] visited = new long[64];
+        private int[] bounds = new int[16];
+        private int[] stack = new int[32];
+
+        long[] visited(int length) {
+            if (visited.length < length) {
+                long[] larger = new long[length];
+                if (length <= MAX_RETAINED_LENGTH) {
+                    visited = larger;
+                }
+                return larger;
+            }
+            Arrays.fill(visited, 0, length, 0L);
+            return visited;
+        }
+
+        int[] bounds(int length) {
+            if (bounds.length < length) {
+                bounds = new int[length];
+            }
+            Arrays.fill(bounds, 0, length, -1);
+            return bounds;
+        }
+
+        void retain(int[] stack) {
+            if (stack.length <= MAX_RETAINED_LENGTH) {
+                this.stack = stack;
+            }
+        }
+    }
+}
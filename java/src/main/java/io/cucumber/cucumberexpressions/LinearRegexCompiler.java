@@ -0,0 +1,598 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.regex.Pattern;
+
+import static io.cucumber.cucumberexpressions.LinearGroupMatcher.BEGIN;
+import static io.cucumber.cucumberexpressions.LinearGroupMatcher.CHAR;
+import static io.cucumber.cucumberexpressions.LinearGroupMatcher.CLASS;
+import static io.cucumber.cucumberexpressions.LinearGroupMatcher.END;
+import static io.cucumber.cucumberexpressions.LinearGroupMatcher.JUMP;
+import static io.cucumber.cucumberexpressions.LinearGroupMatcher.MATCH;
+import static io.cucumber.cucumberexpressions.LinearGroupMatcher.SAVE;
+import static io.cucumber.cucumberexpressions.LinearGroupMatcher.SPLIT;
+
+/**
+ * Compiles a {@link Pattern} into a program for {@link LinearGroupMatcher}.
+ * <p>
+ * Supports the syntax Cucumber expressions are rewritten to and that most
+ * regular expressions use: literals, {@code .}, character classes with
+ * ranges, {@code \d \s \w} and their negations, capturing and non-capturing
+ * groups, alternation, greedy and reluctant quantifiers, {@code ^} and
+ * {@code $}. Of the flags only {@link Pattern#UNICODE_CHARACTER_CLASS} and
+ * {@link Pattern#DOTALL} are supported.
+ * <p>
+ * Patterns using anything else, patterns that repeat something that can
+ * match the empty string, and patterns that repeat something containing a
+ * capturing group, are not compiled and should be matched by
+ * {@code java.util.regex} instead. An optional capturing group, and a
+ * repeated capturing group without groups in it, are supported.
+ */
+final class LinearRegexCompiler {
+    // UNICODE_CHARACTER_CLASS implies UNICODE_CASE, which only matters when
+    // matching case-insensitively.
+    private static final int SUPPORTED_FLAGS = Pattern.UNICODE_CHARACTER_CLASS | Pattern.UNICODE_CASE | Pattern.DOTALL;
+    private static final int MAX_INSTRUCTIONS = 10_000;
+
+    private final String source;
+    private final boolean unicodeCharacterClass;
+    private final boolean dotAll;
+    private int position;
+    private int groupCount;
+
+    private LinearRegexCompiler(Pattern pattern) {
+        this.source = pattern.pattern();
+        this.unicodeCharacterClass = (pattern.flags() & Pattern.UNICODE_CHARACTER_CLASS) != 0;
+        this.dotAll = (pattern.flags() & Pattern.DOTALL) != 0;
+    }
+
+    /**
+     * @param pattern  the pattern to compile
+     * @param fallback used for texts too long to match in linear time
+     * @return the compiled pattern, or {@code null} if the pattern is not
+     * supported
+     */
+    static @Nullable LinearGroupMatcher compile(Pattern pattern, GroupMatcher fallback) {
+        if ((pattern.flags() & ~SUPPORTED_FLAGS) != 0) {
+            return null;
+        }
+        try {
+            LinearRegexCompiler compiler = new LinearRegexCompiler(pattern);
+            Regex regex = compiler.parse();
+            if (compiler.groupCount != pattern.matcher("").groupCount()) {
+                return null;
+            }
+            Program program = new Program();
+            program.emit(SAVE, 0, 0, null);
+            program.compile(regex);
+            program.emit(SAVE, 1, 0, null);
+            program.emit(MATCH, 0, 0, null);
+            return program.toMatcher(compiler.groupCount, fallback);
+        } catch (UnsupportedSyntaxException e) {
+            return null;
+        }
+    }
+
+    private Regex parse() {
+        Regex regex = parseAlternation();
+        if (position != source.length()) {
+            throw new UnsupportedSyntaxException();
+        }
+        return regex;
+    }
+
+    /*
+     * alternation := concatenation ('|' concatenation)*
+     */
+    private Regex parseAlternation() {
+        List<Regex> alternatives = new ArrayList<>();
+        alternatives.add(parseConcatenation());
+        while (lookingAt('|')) {
+            position++;
+            alternatives.add(parseConcatenation());
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+    }
+
+    /*
+     * concatenation := repetition*
+     */
+    private Regex parseConcatenation() {
+        List<Regex> parts = new ArrayList<>();
+        while (position < source.length() && !lookingAt('|') && !lookingAt(')')) {
+            parts.add(parseRepetition());
+        }
+        return parts.size() == 1 ? parts.get(0) : new Concatenation(parts);
+    }
+
+    /*
+     * repetition := atom (('*' | '+' | '?' | '{' min (',' max?)? '}') '?'?)?
+     */
+    private Regex parseRepetition() {
+        int groupCountBefore = groupCount;
+        Regex atom = parseAtom();
+        if (position == source.length()) {
+            return atom;
+        }
+        int min;
+        int max;
+        switch (source.charAt(position)) {
+            case '*' -> {
+                min = 0;
+                max = -1;
+                position++;
+            }
+            case '+' -> {
+                min = 1;
+                max = -1;
+                position++;
+            }
+            case '?' -> {
+                min = 0;
+                max = 1;
+                position++;
+            }
+            case '{' -> {
+                position++;
+                min = parseNumber();
+                max = min;
+                if (lookingAt(',')) {
+                    position++;
+                    max = lookingAt('}') ? -1 : parseNumber();
+                }
+                expect('}');
+            }
+            default -> {
+                return atom;
+            }
+        }
+        boolean greedy = true;
+        if (lookingAt('?')) {
+            greedy = false;
+            position++;
+        } else if (lookingAt('+')) {
+            // Possessive
+            throw new UnsupportedSyntaxException();
+        }
+        if (atom instanceof Begin || atom instanceof End) {
+            throw new UnsupportedSyntaxException();
+        }
+        if (!(min == 0 && max == 1) && atom.isNullable()) {
+            // java.util.regex stops repeating once an iteration matches the
+            // empty string, which changes which groups are captured.
+            throw new UnsupportedSyntaxException();
+        }
+        int nestedGroupCount = groupCount - groupCountBefore - (atom instanceof Group group && group.index() >= 0 ? 1 : 0);
+        if (!(min == 0 && max == 1) && nestedGroupCount > 0) {
+            // java.util.regex does not reset the groups inside a repeated
+            // atom when it backtracks out of an iteration, whether or not
+            // the atom itself is a capturing group.
+            throw new UnsupportedSyntaxException();
+        }
+        return new Repetition(atom, min, max, greedy);
+    }
+
+    private int parseNumber() {
+        int start = position;
+        while (position < source.length() && Character.isDigit(source.charAt(position)) && position - start < 4) {
+            position++;
+        }
+        if (start == position || (position < source.length() && Character.isDigit(source.charAt(position)))) {
+            throw new UnsupportedSyntaxException();
+        }
+        return Integer.parseInt(source.substring(start, position));
+    }
+
+    /*
+     * atom := '(' ('?:')? alternation ')' | '[' class ']' | '.' | '^' | '$' | '\' escape | literal
+     */
+    private Regex parseAtom() {
+        int codePoint = source.codePointAt(position);
+        position += Character.charCount(codePoint);
+        switch (codePoint) {
+            case '(' -> {
+                int groupIndex = -1;
+                if (lookingAt('?')) {
+                    if (!source.startsWith("?:", position)) {
+                        throw new UnsupportedSyntaxException();
+                    }
+                    position += 2;
+                } else {
+                    groupIndex = ++groupCount;
+                }
+                Regex body = parseAlternation();
+                expect(')');
+                return new Group(groupIndex, body);
+            }
+            case '[' -> {
+                return new CharacterClass(parseCharacterClass());
+            }
+            case '.' -> {
+                return new CharacterClass(dotAll ? c -> true : c -> !isLineTerminator(c));
+            }
+            case '^' -> {
+                return new Begin();
+            }
+            case '$' -> {
+                return new End();
+            }
+            case '\\' -> {
+                IntPredicate predefined = parsePredefinedClass();
+                if (predefined != null) {
+                    return new CharacterClass(predefined);
+                }
+                return new Literal(parseEscapedLiteral());
+            }
+            case ')', '*', '+', '?', '{', '|' -> throw new UnsupportedSyntaxException();
+            default -> {
+                if (Character.getType(codePoint) == Character.SURROGATE) {
+                    throw new UnsupportedSyntaxException();
+                }
+                return new Literal(codePoint);
+            }
+        }
+    }
+
+    /*
+     * class := '^'? (item ('-' item)?)+
+     */
+    private IntPredicate parseCharacterClass() {
+        boolean negated = false;
+        if (lookingAt('^')) {
+            negated = true;
+            position++;
+        }
+        List<IntPredicate> predicates = new ArrayList<>();
+        StringBuilder singles = new StringBuilder();
+        List<int[]> ranges = new ArrayList<>();
+        boolean first = true;
+        while (true) {
+            if (position == source.length()) {
+                throw new UnsupportedSyntaxException();
+            }
+            char c = source.charAt(position);
+            if (c == ']' && !first) {
+                position++;
+                break;
+            }
+            first = false;
+            if (c == '[' || c == ']' || source.startsWith("&&", position)) {
+                throw new UnsupportedSyntaxException();
+            }
+            int from = parseClassCharacter(predicates);
+            if (from < 0) {
+                if (isRange()) {
+                    throw new UnsupportedSyntaxException();
+                }
+                continue;
+            }
+            if (isRange()) {
+                position++;
+                int to = parseClassCharacter(predicates);
+                if (to < from || isRange()) {
+                    throw new UnsupportedSyntaxException();
+                }
+                ranges.add(new int[]{from, to});
+            } else {
+                singles.appendCodePoint(from);
+            }
+        }
+
+        int[] singleCodePoints = singles.codePoints().toArray();
+        int[][] rangeCodePoints = ranges.toArray(new int[0][]);
+        IntPredicate[] predefined = predicates.toArray(new IntPredicate[0]);
+        boolean isNegated = negated;
+        return c -> {
+            boolean matches = false;
+            for (int single : singleCodePoints) {
+                if (c == single) {
+                    matches = true;
+                    break;
+                }
+            }
+            for (int i = 0; !matches && i < rangeCodePoints.length; i++) {
+                matches = rangeCodePoints[i][0] <= c && c <= rangeCodePoints[i][1];
+            }
+            for (int i = 0; !matches && i < predefined.length; i++) {
+                matches = predefined[i].test(c);
+            }
+            return matches != isNegated;
+        };
+    }
+
+    private boolean isRange() {
+        return lookingAt('-') && position + 1 < source.length() && source.charAt(position + 1) != ']';
+    }
+
+    /**
+     * @return the code point, or -1 if a predefined class was added to the
+     * predicates
+     */
+    private int parseClassCharacter(List<IntPredicate> predicates) {
+        int codePoint = source.codePointAt(position);
+        position += Character.charCount(codePoint);
+        if (codePoint != '\\') {
+            if (Character.getType(codePoint) == Character.SURROGATE) {
+                throw new UnsupportedSyntaxException();
+            }
+            return codePoint;
+        }
+        IntPredicate predefined = parsePredefinedClass();
+        if (predefined != null) {
+            predicates.add(predefined);
+            return -1;
+        }
+        return parseEscapedLiteral();
+    }
+
+    private @Nullable IntPredicate parsePredefinedClass() {
+        if (position == source.length()) {
+            throw new UnsupportedSyntaxException();
+        }
+        IntPredicate predicate = switch (source.charAt(position)) {
+            case 'd', 'D' -> unicodeCharacterClass ? Character::isDigit : c -> '0' <= c && c <= '9';
+            case 's', 'S' -> unicodeCharacterClass ? LinearRegexCompiler::isUnicodeWhiteSpace : LinearRegexCompiler::isWhiteSpace;
+            case 'w', 'W' -> unicodeCharacterClass ? LinearRegexCompiler::isUnicodeWord : LinearRegexCompiler::isWord;
+            default -> null;
+        };
+        if (predicate == null) {
+            return null;
+        }
+        boolean negated = Character.isUpperCase(source.charAt(position));
+        position++;
+        return negated ? predicate.negate() : predicate;
+    }
+
+    private int parseEscapedLiteral() {
+        char c = source.charAt(position++);
+        return switch (c) {
+            case 't' -> '\t';
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 'f' -> '\f';
+            case 'a' -> '\u0007';
+            case 'e' -> '\u001B';
+            default -> {
+                // Letters and digits are escape sequences, anything else
+                // is the character itself.
+                if (Character.isLetterOrDigit(c) || Character.isSurrogate(c) || c > 127) {
+                    throw new UnsupportedSyntaxException();
+                }
+                yield c;
+            }
+        };
+    }
+
+    private boolean lookingAt(char c) {
+        return position < source.length() && source.charAt(position) == c;
+    }
+
+    private void expect(char c) {
+        if (!lookingAt(c)) {
+            throw new UnsupportedSyntaxException();
+        }
+        position++;
+    }
+
+    private static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isWhiteSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    private static boolean isWord(int c) {
+        return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z') || ('0' <= c && c <= '9') || c == '_';
+    }
+
+    // Same as \p{IsWhite_Space}
+    private static boolean isUnicodeWhiteSpace(int c) {
+        return ((((1 << Character.SPACE_SEPARATOR)
+                | (1 << Character.LINE_SEPARATOR)
+                | (1 << Character.PARAGRAPH_SEPARATOR)) >> Character.getType(c)) & 1) != 0
+                || (c >= 0x9 && c <= 0xd)
+                || c == 0x85;
+    }
+
+    // Same as \w with UNICODE_CHARACTER_CLASS
+    private static boolean isUnicodeWord(int c) {
+        return Character.isAlphabetic(c)
+                || ((((1 << Character.NON_SPACING_MARK)
+                | (1 << Character.ENCLOSING_MARK)
+                | (1 << Character.COMBINING_SPACING_MARK)
+                | (1 << Character.DECIMAL_DIGIT_NUMBER)
+                | (1 << Character.CONNECTOR_PUNCTUATION)) >> Character.getType(c)) & 1) != 0
+                || c == 0x200C
+                || c == 0x200D;
+    }
+
+    private static final class UnsupportedSyntaxException extends RuntimeException {
+        UnsupportedSyntaxException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private interface Regex {
+        boolean isNullable();
+    }
+
+    private record Literal(int codePoint) implements Regex {
+        @Override
+        public boolean isNullable() {
+            return false;
+        }
+    }
+
+    private record CharacterClass(IntPredicate predicate) implements Regex {
+        @Override
+        public boolean isNullable() {
+            return false;
+        }
+    }
+
+    private record Begin() implements Regex {
+        @Override
+        public boolean isNullable() {
+            return true;
+        }
+    }
+
+    private record End() implements Regex {
+        @Override
+        public boolean isNullable() {
+            return true;
+        }
+    }
+
+    private record Group(int index, Regex body) implements Regex {
+        @Override
+        public boolean isNullable() {
+            return body.isNullable();
+        }
+    }
+
+    private record Concatenation(List<Regex> parts) implements Regex {
+        @Override
+        public boolean isNullable() {
+            return parts.stream().allMatch(Regex::isNullable);
+        }
+    }
+
+    private record Alternation(List<Regex> alternatives) implements Regex {
+        @Override
+        public boolean isNullable() {
+            return alternatives.stream().anyMatch(Regex::isNullable);
+        }
+    }
+
+    private record Repetition(Regex body, int min, int max, boolean greedy) implements Regex {
+        @Override
+        public boolean isNullable() {
+            return min == 0 || body.isNullable();
+        }
+    }
+
+    private static final class Program {
+        private int size;
+        private int[] opcodes = new int[16];
+        private int[] arguments = new int[16];
+        private int[] alternatives = new int[16];
+        private @Nullable IntPredicate[] classes = new IntPredicate[16];
+
+        private int emit(int opcode, int argument, int alternative, @Nullable IntPredicate predicate) {
+            if (size == MAX_INSTRUCTIONS) {
+                throw new UnsupportedSyntaxException();
+            }
+            if (size == opcodes.length) {
+                opcodes = Arrays.copyOf(opcodes, size * 2);
+                arguments = Arrays.copyOf(arguments, size * 2);
+                alternatives = Arrays.copyOf(alternatives, size * 2);
+                classes = Arrays.copyOf(classes, size * 2);
+            }
+            opcodes[size] = opcode;
+            arguments[size] = argument;
+            alternatives[size] = alternative;
+            classes[size] = predicate;
+            return size++;
+        }
+
+        private int emitSplit(boolean preferNext) {
+            return emit(SPLIT, preferNext ? 1 : 0, preferNext ? 0 : 1, null);
+        }
+
+        /**
+         * Points a split emitted by {@link #emitSplit(boolean)} at the
+         * instruction after it and the target.
+         */
+        private void patchSplit(int split, int target) {
+            boolean preferNext = arguments[split] == 1;
+            arguments[split] = preferNext ? split + 1 : target;
+            alternatives[split] = preferNext ? target : split + 1;
+        }
+
+        private void compile(Regex regex) {
+            if (regex instanceof Literal literal) {
+                emit(CHAR, literal.codePoint(), 0, null);
+            } else if (regex instanceof CharacterClass characterClass) {
+                emit(CLASS, 0, 0, characterClass.predicate());
+            } else if (regex instanceof Begin) {
+                emit(BEGIN, 0, 0, null);
+            } else if (regex instanceof End) {
+                emit(END, 0, 0, null);
+            } else if (regex instanceof Group group) {
+                compileGroup(group);
+            } else if (regex instanceof Concatenation concatenation) {
+                for (Regex part : concatenation.parts()) {
+                    compile(part);
+                }
+            } else if (regex instanceof Alternation alternation) {
+                compileAlternation(alternation);
+            } else {
+                compileRepetition((Repetition) regex);
+            }
+        }
+
+        private void compileGroup(Group group) {
+            if (group.index() < 0) {
+                compile(group.body());
+                return;
+            }
+            emit(SAVE, 2 * group.index(), 0, null);
+            compile(group.body());
+            emit(SAVE, 2 * group.index() + 1, 0, null);
+        }
+
+        private void compileAlternation(Alternation alternation) {
+            List<Regex> alternatives = alternation.alternatives();
+            int[] jumps = new int[alternatives.size() - 1];
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                int split = emitSplit(true);
+                compile(alternatives.get(i));
+                jumps[i] = emit(JUMP, 0, 0, null);
+                patchSplit(split, size);
+            }
+            compile(alternatives.get(alternatives.size() - 1));
+            for (int jump : jumps) {
+                arguments[jump] = size;
+            }
+        }
+
+        private void compileRepetition(Repetition repetition) {
+            for (int i = 0; i < repetition.min(); i++) {
+                compile(repetition.body());
+            }
+            if (repetition.max() < 0) {
+                int split = emitSplit(repetition.greedy());
+                compile(repetition.body());
+                emit(JUMP, split, 0, null);
+                patchSplit(split, size);
+                return;
+            }
+            int optional = repetition.max() - repetition.min();
+            int[] splits = new int[optional];
+            for (int i = 0; i < optional; i++) {
+                splits[i] = emitSplit(repetition.greedy());
+                compile(repetition.body());
+            }
+            for (int split : splits) {
+                patchSplit(split, size);
+            }
+        }
+
+        private LinearGroupMatcher toMatcher(int groupCount, GroupMatcher fallback) {
+            return new LinearGroupMatcher(
+                    Arrays.copyOf(opcodes, size),
+                    Arrays.copyOf(arguments, size),
+                    Arrays.copyOf(alternatives, size),
+                    Arrays.copyOf(classes, size),
+                    groupCount,
+                    fallback);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.cucumber.cucumberexpressions;
 
+import org.jspecify.annotations.Nullable;
+
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
@@ -15,15 +17,35 @@ interface NumberParser {
             decimalFormat.setParseBigDecimal(true);
             var symbols = KeyboardFriendlyDecimalFormatSymbols.getInstance(locale);
             decimalFormat.setDecimalFormatSymbols(symbols);
-            return new DecimalFormatParser(symbols, numberFormat);
+            var decimalFormatParser = new DecimalFormatParser(symbols, numberFormat);
+            if (!LocalizedNumberParser.canParse(decimalFormat, symbols)) {
+                return decimalFormatParser;
+            }
+            return new LocalizedNumberParser(symbols, decimalFormatParser);
         }
         return new FallbackParser();
     }
 
     double parseDouble(String s);
 
+    /**
+     * Parses the text from {@code start} to {@code end} like
+     * {@link #parseDouble(String)}.
+     */
+    default double parseDouble(CharSequence text, int start, int end) {
+        return parseDouble(text.subSequence(start, end).toString());
+    }
+
     float parseFloat(String s);
 
+    /**
+     * Parses the text from {@code start} to {@code end} like
+     * {@link #parseFloat(String)}.
+     */
+    default float parseFloat(CharSequence text, int start, int end) {
+        return parseFloat(text.subSequence(start, end).toString());
+    }
+
     BigDecimal parseBigDecimal(String s);
 
     record DecimalFormatParser(DecimalFormatSymbols symbols, NumberFormat numberFormat) implements NumberParser {
@@ -45,6 +67,13 @@ interface NumberParser {
 
         private Number parse(String s) {
             // s will either match ParameterTypeRegistry.FLOAT_REGEXPS or .INTEGER_REGEXPS
+            // DecimalFormat is not thread safe
+            synchronized (numberFormat) {
+                return parseUnsynchronized(s);
+            }
+        }
+
+        private Number parseUnsynchronized(String s) {
             try {
                 var exponentSeparator = symbols.getExponentSeparator();
                 var index = s.indexOf(exponentSeparator);
@@ -74,6 +103,277 @@ interface NumberParser {
         }
     }
 
+    /**
+     * Parses numbers written with the decimal, grouping and exponent
+     * separators of a locale, without {@link DecimalFormat}.
+     * <p>
+     * Numbers with at most 18 significant digits and a small exponent are
+     * computed exactly from their digits. Other numbers are rewritten with
+     * the separators of {@link Double#parseDouble(String)} and
+     * {@link BigDecimal#BigDecimal(String)}. Texts that do not look like
+     * {@code ParameterTypeRegistry.FLOAT_REGEXPS} are parsed by the fallback.
+     */
+    final class LocalizedNumberParser implements NumberParser {
+        private static final long MAX_EXACT_DOUBLE = 1L << 53;
+        private static final long MAX_EXACT_FLOAT = 1L << 24;
+        private static final int MAX_SIGNIFICANT_DIGITS = 18;
+        private static final int MAX_EXPONENT_DIGITS = 9;
+        private static final double[] DOUBLE_POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+                1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
+        private static final float[] FLOAT_POWERS_OF_TEN = {
+                1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+        };
+
+        private final char decimalSeparator;
+        private final char groupingSeparator;
+        private final String exponentSeparator;
+        private final NumberParser fallback;
+
+        LocalizedNumberParser(DecimalFormatSymbols symbols, NumberParser fallback) {
+            this.decimalSeparator = symbols.getDecimalSeparator();
+            this.groupingSeparator = symbols.getGroupingSeparator();
+            this.exponentSeparator = symbols.getExponentSeparator();
+            this.fallback = fallback;
+        }
+
+        /**
+         * Whether numbers written with these symbols can be told apart from
+         * their digits and signs, and are written with grouping but without
+         * prefixes or suffixes other than the minus sign.
+         */
+        static boolean canParse(DecimalFormat decimalFormat, DecimalFormatSymbols symbols) {
+            String exponentSeparator = symbols.getExponentSeparator();
+            return decimalFormat.getPositivePrefix().isEmpty()
+                    && decimalFormat.getPositiveSuffix().isEmpty()
+                    && decimalFormat.getNegativePrefix().equals("-")
+                    && decimalFormat.getNegativeSuffix().isEmpty()
+                    && decimalFormat.isGroupingUsed()
+                    && symbols.getZeroDigit() == '0'
+                    && symbols.getMinusSign() == '-'
+                    && isSeparator(symbols.getDecimalSeparator())
+                    && isSeparator(symbols.getGroupingSeparator())
+                    && symbols.getDecimalSeparator() != symbols.getGroupingSeparator()
+                    && !exponentSeparator.isEmpty()
+                    && isSeparator(exponentSeparator.charAt(0))
+                    && exponentSeparator.charAt(0) != symbols.getDecimalSeparator()
+                    && exponentSeparator.charAt(0) != symbols.getGroupingSeparator();
+        }
+
+        private static boolean isSeparator(char c) {
+            return !isDigit(c) && c != '-' && c != '+';
+        }
+
+        private static boolean isDigit(char c) {
+            return '0' <= c && c <= '9';
+        }
+
+        @Override
+        public double parseDouble(String s) {
+            return parseDouble(s, 0, s.length());
+        }
+
+        @Override
+        public double parseDouble(CharSequence s, int start, int end) {
+            Decimal decimal = scan(s, start, end);
+            if (decimal == null) {
+                return fallback.parseDouble(s.subSequence(start, end).toString());
+            }
+            if (decimal.mantissa == 0) {
+                // Like BigDecimal, which has no negative zero
+                return 0.0;
+            }
+            int exponent = decimal.exponent;
+            if (decimal.exact && decimal.mantissa <= MAX_EXACT_DOUBLE && -22 <= exponent && exponent <= 22) {
+                // Both operands are exact, so the result is correctly rounded
+                double value = (double) decimal.mantissa;
+                value = exponent < 0 ? value / DOUBLE_POWERS_OF_TEN[-exponent] : value * DOUBLE_POWERS_OF_TEN[exponent];
+                return decimal.negative ? -value : value;
+            }
+            return Double.parseDouble(normalize(s, start, end, decimal));
+        }
+
+        @Override
+        public float parseFloat(String s) {
+            return parseFloat(s, 0, s.length());
+        }
+
+        @Override
+        public float parseFloat(CharSequence s, int start, int end) {
+            Decimal decimal = scan(s, start, end);
+            if (decimal == null) {
+                return fallback.parseFloat(s.subSequence(start, end).toString());
+            }
+            if (decimal.mantissa == 0) {
+                return 0.0f;
+            }
+            int exponent = decimal.exponent;
+            if (decimal.exact && decimal.mantissa <= MAX_EXACT_FLOAT && -10 <= exponent && exponent <= 10) {
+                float value = (float) decimal.mantissa;
+                value = exponent < 0 ? value / FLOAT_POWERS_OF_TEN[-exponent] : value * FLOAT_POWERS_OF_TEN[exponent];
+                return decimal.negative ? -value : value;
+            }
+            return Float.parseFloat(normalize(s, start, end, decimal));
+        }
+
+        @Override
+        public BigDecimal parseBigDecimal(String s) {
+            Decimal decimal = scan(s, 0, s.length());
+            if (decimal == null) {
+                return fallback.parseBigDecimal(s);
+            }
+            if (decimal.exact) {
+                // Trailing zeros are part of the mantissa, so the scale is kept
+                return BigDecimal.valueOf(decimal.negative ? -decimal.mantissa : decimal.mantissa, -decimal.exponent);
+            }
+            return new BigDecimal(normalize(s, 0, s.length(), decimal));
+        }
+
+        /**
+         * @return the number from {@code start} to {@code end}, or
+         * {@code null} if the text is not written like
+         * {@code [-+]?(\d+(,\d+)*(\.\d+)?|\.\d+)(E[-+]?\d+)?} with the
+         * separators of the locale
+         */
+        private @Nullable Decimal scan(CharSequence s, int start, int end) {
+            int i = start;
+            boolean negative = false;
+            if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                negative = s.charAt(i) == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int significantDigits = 0;
+            boolean exact = true;
+            int exponent = 0;
+            int digits = 0;
+            // Integer part, digits may be grouped
+            while (i < end) {
+                char c = s.charAt(i);
+                if (isDigit(c)) {
+                    if (mantissa != 0 || c != '0') {
+                        if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                            mantissa = mantissa * 10 + (c - '0');
+                        } else {
+                            exact = false;
+                            exponent++;
+                        }
+                        significantDigits++;
+                    }
+                    digits++;
+                    i++;
+                } else if (c == groupingSeparator && digits > 0 && i + 1 < end && isDigit(s.charAt(i + 1))) {
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            // Fraction
+            if (i < end && s.charAt(i) == decimalSeparator) {
+                i++;
+                int fractionDigits = 0;
+                while (i < end && isDigit(s.charAt(i))) {
+                    char c = s.charAt(i);
+                    if (mantissa != 0 || c != '0') {
+                        if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                            mantissa = mantissa * 10 + (c - '0');
+                            exponent--;
+                        } else {
+                            exact = false;
+                        }
+                        significantDigits++;
+                    } else {
+                        exponent--;
+                    }
+                    fractionDigits++;
+                    i++;
+                }
+                if (fractionDigits == 0) {
+                    return null;
+                }
+                digits += fractionDigits;
+            }
+            if (digits == 0) {
+                return null;
+            }
+            // Exponent
+            int exponentIndex = -1;
+            if (startsWith(s, i, end, exponentSeparator)) {
+                exponentIndex = i;
+                i += exponentSeparator.length();
+                boolean negativeExponent = false;
+                if (i < end && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+                    negativeExponent = s.charAt(i) == '-';
+                    i++;
+                }
+                int exponentDigits = 0;
+                int explicitExponent = 0;
+                while (i < end && isDigit(s.charAt(i))) {
+                    if (exponentDigits == MAX_EXPONENT_DIGITS) {
+                        // Let the fallback decide what to do with huge exponents
+                        return null;
+                    }
+                    char c = s.charAt(i);
+                    explicitExponent = explicitExponent * 10 + (c - '0');
+                    exponentDigits++;
+                    i++;
+                }
+                if (exponentDigits == 0) {
+                    return null;
+                }
+                exponent += negativeExponent ? -explicitExponent : explicitExponent;
+            }
+            if (i != end) {
+                return null;
+            }
+            return new Decimal(negative, mantissa, exponent, exact, exponentIndex);
+        }
+
+        private static boolean startsWith(CharSequence s, int index, int end, String prefix) {
+            if (end - index < prefix.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (s.charAt(index + i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Rewrites a number found by {@link #scan(CharSequence, int, int)}
+         * with the separators of {@link Double#parseDouble(String)}.
+         */
+        private String normalize(CharSequence s, int start, int end, Decimal decimal) {
+            int significantEnd = decimal.exponentIndex < 0 ? end : decimal.exponentIndex;
+            StringBuilder normalized = new StringBuilder(end - start);
+            for (int i = start; i < significantEnd; i++) {
+                char c = s.charAt(i);
+                if (c == decimalSeparator) {
+                    normalized.append('.');
+                } else if (c != groupingSeparator) {
+                    normalized.append(c);
+                }
+            }
+            if (decimal.exponentIndex >= 0) {
+                normalized.append('E').append(s, significantEnd + exponentSeparator.length(), end);
+            }
+            return normalized.toString();
+        }
+
+        /**
+         * A number {@code mantissa * 10^exponent}. The mantissa is only
+         * {@code exact} when the number had at most 18 significant digits.
+         * The {@code exponentIndex} is where the exponent separator starts,
+         * or {@code -1} without exponent.
+         */
+        private record Decimal(boolean negative, long mantissa, int exponent, boolean exact, int exponentIndex) {
+        }
+    }
+
     // The locale did not have a DecimalFormat, so we could not
     // ask it to parse decimal numbers. Fall back to the default
     // number parsing.
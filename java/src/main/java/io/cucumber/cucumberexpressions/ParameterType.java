@@ -27,6 +27,10 @@ public final class ParameterType<T> implements Comparable<ParameterType<?>> {
     private final CaptureGroupTransformer<T> transformer;
     private final boolean anonymous;
     private final boolean useRegexpMatchAsStrongTypeHint;
+    private final boolean builtIn;
+    private final TransformRecorder transformRecorder;
+    private final @Nullable TransformCache<T> transformCache;
+    private final @Nullable NumberParser numberParser;
 
     static String requireValidParameterTypeName(String name) {
         if (!isValidParameterTypeName(name)) {
@@ -42,9 +46,22 @@ public final class ParameterType<T> implements Comparable<ParameterType<?>> {
     }
 
     static ParameterType<Object> createAnonymousParameterType(String regexp) {
+        return createAnonymousParameterType(regexp, new TransformRecorder());
+    }
+
+    /**
+     * Creates an anonymous parameter type for a capture group of a regular
+     * expression that does not match a defined parameter type. It is not
+     * defined in a registry, so its transforms are not recorded.
+     */
+    static ParameterType<Object> createUnregisteredAnonymousParameterType(String regexp) {
+        return createAnonymousParameterType(regexp, TransformRecorder.NONE);
+    }
+
+    private static ParameterType<Object> createAnonymousParameterType(String regexp, TransformRecorder transformRecorder) {
         return new ParameterType<>("", singletonList(regexp), Object.class, arg -> {
             throw new UnsupportedOperationException("Anonymous transform must be deanonymized before use");
-        }, false, true, false, true);
+        }, false, true, false, true, false, transformRecorder, null, null);
     }
 
     static <E extends Enum<E>> ParameterType<E> fromEnum(final Class<E> enumClass) {
@@ -71,7 +88,26 @@ public final class ParameterType<T> implements Comparable<ParameterType<?>> {
             boolean useForSnippets,
             boolean preferForRegexpMatch,
             boolean useRegexpMatchAsStrongTypeHint,
-            boolean anonymous
+            boolean anonymous,
+            boolean builtIn
+    ) {
+        this(name, regexps, type, transformer, useForSnippets, preferForRegexpMatch, useRegexpMatchAsStrongTypeHint,
+                anonymous, builtIn, new TransformRecorder(), null, null);
+    }
+
+    private ParameterType(
+            String name,
+            List<String> regexps,
+            Type type,
+            CaptureGroupTransformer<T> transformer,
+            boolean useForSnippets,
+            boolean preferForRegexpMatch,
+            boolean useRegexpMatchAsStrongTypeHint,
+            boolean anonymous,
+            boolean builtIn,
+            TransformRecorder transformRecorder,
+            @Nullable TransformCache<T> transformCache,
+            @Nullable NumberParser numberParser
     ) {
         this.name = requireValidParameterTypeName(requireNonNull(name));
         this.regexps = requireNonNull(regexps);
@@ -81,12 +117,16 @@ public final class ParameterType<T> implements Comparable<ParameterType<?>> {
         this.preferForRegexpMatch = preferForRegexpMatch;
         this.anonymous = anonymous;
         this.useRegexpMatchAsStrongTypeHint = useRegexpMatchAsStrongTypeHint;
+        this.builtIn = builtIn;
+        this.transformRecorder = transformRecorder;
+        this.transformCache = transformCache;
+        this.numberParser = numberParser;
     }
 
     public ParameterType(String name, List<String> regexps, Type type, CaptureGroupTransformer<T> transformer,
                          boolean useForSnippets, boolean preferForRegexpMatch, boolean useRegexpMatchAsStrongTypeHint) {
         this(name, regexps, type, transformer, useForSnippets, preferForRegexpMatch, useRegexpMatchAsStrongTypeHint,
-                false);
+                false, false);
     }
 
     public ParameterType(String name, List<String> regexps, Type type, CaptureGroupTransformer<T> transformer,
@@ -236,12 +276,119 @@ public final class ParameterType<T> implements Comparable<ParameterType<?>> {
     }
 
     ParameterType<Object> deAnonymize(Type type, Transformer<Object> transformer) {
+        // Transforms are recorded for the anonymous parameter type it was derived from
         return new ParameterType<>("anonymous", regexps, type, new TransformerAdaptor<>(transformer), useForSnippets,
-                preferForRegexpMatch, useRegexpMatchAsStrongTypeHint, anonymous);
+                preferForRegexpMatch, useRegexpMatchAsStrongTypeHint, anonymous, false, transformRecorder, null, null);
+    }
+
+    /**
+     * Returns a copy of this parameter type, marked as one of the parameter
+     * types defined by {@link ParameterTypeRegistry} itself. The transforms of
+     * these are known, which allows {@link Argument} to take shortcuts.
+     */
+    ParameterType<T> asBuiltIn() {
+        return asBuiltIn(null);
+    }
+
+    /**
+     * Returns a copy of this parameter type, marked as one of the parameter
+     * types defined by {@link ParameterTypeRegistry} itself, that transforms
+     * its single capture group with the given number parser. This allows
+     * {@link Argument} to parse the number without transforming the value.
+     */
+    ParameterType<T> asBuiltIn(@Nullable NumberParser numberParser) {
+        return new ParameterType<>(name, regexps, type, transformer, useForSnippets, preferForRegexpMatch,
+                useRegexpMatchAsStrongTypeHint, anonymous, true, transformRecorder, transformCache, numberParser);
+    }
+
+    /**
+     * Returns a copy of this parameter type that caches the values it
+     * transformed, by the text of the capture groups they were transformed
+     * from. When the cache is full, the least recently used value is evicted.
+     * <p>
+     * Only use this when the transformer always returns the same value for
+     * the same text, and the value is not modified. Every argument with that
+     * text gets the same value. Transforms that fail are not cached.
+     *
+     * @param maximumCacheSize the maximum number of cached values
+     * @return a copy of this parameter type that caches its values
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public ParameterType<T> withTransformCache(int maximumCacheSize) {
+        return new ParameterType<>(name, regexps, type, transformer, useForSnippets, preferForRegexpMatch,
+                useRegexpMatchAsStrongTypeHint, anonymous, builtIn, new TransformRecorder(),
+                new TransformCache<>(maximumCacheSize), numberParser);
+    }
+
+    /**
+     * Returns the statistics of the transform cache. All counts are zero when
+     * values are not cached.
+     *
+     * @return a snapshot of the cache statistics
+     * @see #withTransformCache(int)
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public CacheStatistics getTransformCacheStatistics() {
+        if (transformCache == null) {
+            return new CacheStatistics(0, 0, 0);
+        }
+        return transformCache.getStatistics();
+    }
+
+    boolean isBuiltIn() {
+        return builtIn;
+    }
+
+    /**
+     * The number parser of a built-in {@code {float}}, {@code {double}} or
+     * {@code {bigdecimal}} parameter type, see {@link #asBuiltIn(NumberParser)}.
+     */
+    @Nullable NumberParser getNumberParser() {
+        return numberParser;
     }
 
     @Nullable
     T transform(List<@Nullable String> groupValues) {
+        if (transformCache == null) {
+            return transformAndRecord(groupValues);
+        }
+        TransformCache.Value<T> cached = transformCache.get(groupValues);
+        if (cached != null) {
+            return cached.value();
+        }
+        T value = transformAndRecord(groupValues);
+        transformCache.put(groupValues, value);
+        return value;
+    }
+
+    private @Nullable T transformAndRecord(List<@Nullable String> groupValues) {
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        if (metrics == null && !transformRecorder.isEnabled()) {
+            return doTransform(groupValues);
+        }
+        long start = System.nanoTime();
+        try {
+            T value = doTransform(groupValues);
+            recordTransform(metrics, System.nanoTime() - start, null);
+            return value;
+        } catch (RuntimeException e) {
+            recordTransform(metrics, System.nanoTime() - start, e.getCause() != null ? e.getCause() : e);
+            throw e;
+        }
+    }
+
+    private void recordTransform(@Nullable ExpressionMetrics metrics, long nanos, @Nullable Throwable failure) {
+        transformRecorder.record(nanos, failure != null);
+        if (metrics != null) {
+            metrics.parameterTransformed(name, nanos, failure);
+        }
+    }
+
+    TransformStatistics getTransformStatistics() {
+        return transformRecorder.getStatistics();
+    }
+
+    private @Nullable T doTransform(List<@Nullable String> groupValues) {
         if (transformer instanceof TransformerAdaptor) {
             if (groupValues.size() > 1) {
                 if (isAnonymous()) {
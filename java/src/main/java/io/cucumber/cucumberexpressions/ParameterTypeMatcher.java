@@ -1,32 +1,58 @@
 package io.cucumber.cucumberexpressions;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 final class ParameterTypeMatcher implements Comparable<ParameterTypeMatcher> {
     private final ParameterType<?> parameterType;
     private final Matcher matcher;
     private final String text;
+    private final boolean reusable;
+    // The position the last search started from, the start of the first
+    // non-empty match it found and the match with word boundaries it
+    // found, if any.
+    private int searchedFrom = -1;
+    private int firstStart;
+    private int start = -1;
+    private int end = -1;
 
-    ParameterTypeMatcher(ParameterType<?> parameterType, Matcher matcher, String text) {
+    /**
+     * @param reusable whether the regexp matches the same at a position no
+     *                 matter where the search started, see
+     *                 {@link SnippetScanner#dependsOnSearchStart(java.util.regex.Pattern)}
+     */
+    ParameterTypeMatcher(ParameterType<?> parameterType, Matcher matcher, String text, boolean reusable) {
         this.parameterType = parameterType;
         this.matcher = matcher;
         this.text = text;
-    }
-
-    private static boolean isWhitespaceOrPunctuationOrSymbol(char c) {
-        return Pattern.matches("[\\p{Z}\\p{P}\\p{S}]", new String(new char[] { c }));
+        this.reusable = reusable;
     }
 
     boolean advanceToAndFind(int newMatchPos) {
+        if (reusable && searchedFrom >= 0 && searchedFrom <= newMatchPos && newMatchPos <= firstStart) {
+            // Nothing but empty matches were found between where the last
+            // search started and the new position, so searching again
+            // would find the same.
+            return start >= 0;
+        }
+        searchedFrom = newMatchPos;
+        firstStart = Integer.MAX_VALUE;
+        start = -1;
+        end = -1;
         // Unlike js, ruby and go, the matcher is stateful
         // so we can't use the immutable semantics.
         matcher.region(newMatchPos, text.length());
         while (matcher.find()) {
-            if (group().isEmpty()) {
+            if (matcher.end() == matcher.start()) {
+                // Searching again from the next position would find the
+                // same matches from there on
                 continue;
             }
+            if (firstStart == Integer.MAX_VALUE) {
+                firstStart = matcher.start();
+            }
             if (groupHasWordBoundaryOnBothSides()) {
+                start = matcher.start();
+                end = matcher.end();
                 return true;
             }
         }
@@ -34,38 +60,23 @@ final class ParameterTypeMatcher implements Comparable<ParameterTypeMatcher> {
     }
 
     private boolean groupHasWordBoundaryOnBothSides() {
-        return groupHasLeftWordBoundary() && groupHasRightWordBoundary();
-    }
-
-    private boolean groupHasLeftWordBoundary() {
-        if (matcher.start() > 0) {
-            char before = text.charAt(matcher.start() - 1);
-            return isWhitespaceOrPunctuationOrSymbol(before);
-        }
-        return true;
-    }
-
-    private boolean groupHasRightWordBoundary() {
-        if (matcher.end() < text.length()) {
-            char after = text.charAt(matcher.end());
-            return isWhitespaceOrPunctuationOrSymbol(after);
-        }
-        return true;
+        return WordBoundaries.isBoundaryBefore(text, matcher.start())
+                && WordBoundaries.isBoundaryAfter(text, matcher.end());
     }
 
     int start() {
-        return matcher.start();
+        return start;
     }
 
-    String group() {
-        return matcher.group();
+    int end() {
+        return end;
     }
 
     @Override
     public int compareTo(ParameterTypeMatcher o) {
         int posComparison = Integer.compare(start(), o.start());
         if (posComparison != 0) return posComparison;
-        int lengthComparison = Integer.compare(o.group().length(), group().length());
+        int lengthComparison = Integer.compare(o.end() - o.start(), end() - start());
         if (lengthComparison != 0) return lengthComparison;
         int weightComparison = Integer.compare(o.parameterType.weight(), parameterType.weight());
         if (weightComparison != 0) return weightComparison;
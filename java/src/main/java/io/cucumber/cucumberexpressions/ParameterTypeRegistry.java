@@ -6,19 +6,26 @@ import org.jspecify.annotations.Nullable;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.text.DecimalFormatSymbols;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
+import java.util.TreeMap;
 import java.util.regex.Pattern;
 
 import static io.cucumber.cucumberexpressions.ParameterType.createAnonymousParameterType;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 
+/**
+ * The registry is safe to share between threads.
+ * <p>
+ * Lookups read an immutable snapshot without locking. Defining a parameter
+ * type creates and publishes a new snapshot, so a lookup always sees either
+ * all or none of a definition. This makes reads cheap when many expressions
+ * are created concurrently, at the cost of slightly slower definitions.
+ */
 @API(status = API.Status.STABLE)
 public final class ParameterTypeRegistry {
     // Pattern.compile(...).pattern() is not necessary, but it helps us take advantage of the IntelliJ's regexp validation,
@@ -44,20 +51,31 @@ public final class ParameterTypeRegistry {
             Pattern.compile("'([^'\\\\]*(\\\\.[^'\\\\]*)*)'").pattern()
     );
     private static final String ANONYMOUS_REGEX = Pattern.compile(".*").pattern();
-    private final Map<String, ParameterType<?>> parameterTypeByName = new HashMap<>();
-    private final Map<String, SortedSet<ParameterType<?>>> parameterTypesByRegexp = new HashMap<>();
+    private volatile ParameterTypeSnapshot snapshot = ParameterTypeSnapshot.EMPTY;
     /**
      * To maintain consistency with `datatable` we don't use the mutable default
      * transformer to handle built-in in conversions yet.
      */
     private final ParameterByTypeTransformer internalParameterTransformer;
-    private ParameterByTypeTransformer defaultParameterTransformer;
+    private volatile ParameterByTypeTransformer defaultParameterTransformer;
+    /**
+     * Incremented on every change that affects expressions that were
+     * already created, so expressions created with an older generation can
+     * be recognized.
+     * <p>
+     * Defining a parameter type is not such a change. An expression only
+     * refers to parameter types that were defined when it was created, and
+     * a parameter type can not be redefined. Only expressions that could not
+     * be created because they referred to the new parameter type are
+     * affected.
+     */
+    private volatile int generation;
 
     public ParameterTypeRegistry(Locale locale) {
         this(new BuiltInParameterTransformer(locale), locale);
     }
 
-    private ParameterTypeRegistry(ParameterByTypeTransformer defaultParameterTransformer, Locale locale) {
+    private ParameterTypeRegistry(BuiltInParameterTransformer defaultParameterTransformer, Locale locale) {
         this.internalParameterTransformer = defaultParameterTransformer;
         this.defaultParameterTransformer = defaultParameterTransformer;
 
@@ -69,61 +87,61 @@ public final class ParameterTypeRegistry {
                 .replace("{exponent}", "" + numberFormat.getExponentSeparator())
         );
 
-        defineParameterType(new ParameterType<>("biginteger", INTEGER_REGEXPS, BigInteger.class, new Transformer<>() {
+        defineBuiltInParameterType(new ParameterType<>("biginteger", INTEGER_REGEXPS, BigInteger.class, new Transformer<>() {
             @Override
             public @Nullable BigInteger transform(@Nullable String arg) throws Throwable {
                 return (BigInteger) internalParameterTransformer.transform(arg, BigInteger.class);
             }
         }, false, false, false));
-        defineParameterType(new ParameterType<>("bigdecimal", localizedFloatRegexp, BigDecimal.class, new Transformer<>() {
+        defineBuiltInParameterType(new ParameterType<>("bigdecimal", localizedFloatRegexp, BigDecimal.class, new Transformer<>() {
             @Override
             public @Nullable BigDecimal transform(@Nullable String arg) throws Throwable {
                 return (BigDecimal) internalParameterTransformer.transform(arg, BigDecimal.class);
             }
-        }, false, false, false));
-        defineParameterType(new ParameterType<>("byte", INTEGER_REGEXPS, Byte.class, new Transformer<>() {
+        }, false, false, false), defaultParameterTransformer.getNumberParser());
+        defineBuiltInParameterType(new ParameterType<>("byte", INTEGER_REGEXPS, Byte.class, new Transformer<>() {
             @Override
             public @Nullable Byte transform(@Nullable String arg) throws Throwable {
                 return (Byte) internalParameterTransformer.transform(arg, Byte.class);
             }
         }, false, false, false));
-        defineParameterType(new ParameterType<>("short", INTEGER_REGEXPS, Short.class, new Transformer<>() {
+        defineBuiltInParameterType(new ParameterType<>("short", INTEGER_REGEXPS, Short.class, new Transformer<>() {
             @Override
             public @Nullable Short transform(@Nullable String arg) throws Throwable {
                 return (Short) internalParameterTransformer.transform(arg, Short.class);
             }
         }, false, false, false));
-        defineParameterType(new ParameterType<>("int", INTEGER_REGEXPS, Integer.class, new Transformer<>() {
+        defineBuiltInParameterType(new ParameterType<>("int", INTEGER_REGEXPS, Integer.class, new Transformer<>() {
             @Override
             public @Nullable Integer transform(@Nullable String arg) throws Throwable {
                 return (Integer) internalParameterTransformer.transform(arg, Integer.class);
             }
         }, true, true, false));
-        defineParameterType(new ParameterType<>("long", INTEGER_REGEXPS, Long.class, new Transformer<>() {
+        defineBuiltInParameterType(new ParameterType<>("long", INTEGER_REGEXPS, Long.class, new Transformer<>() {
             @Override
             public @Nullable Long transform(@Nullable String arg) throws Throwable {
                 return (Long) internalParameterTransformer.transform(arg, Long.class);
             }
         }, false, false));
-        defineParameterType(new ParameterType<>("float", localizedFloatRegexp, Float.class, new Transformer<>() {
+        defineBuiltInParameterType(new ParameterType<>("float", localizedFloatRegexp, Float.class, new Transformer<>() {
             @Override
             public @Nullable Float transform(@Nullable String arg) throws Throwable {
                 return (Float) internalParameterTransformer.transform(arg, Float.class);
             }
-        }, false, false));
-        defineParameterType(new ParameterType<>("double", localizedFloatRegexp, Double.class, new Transformer<>() {
+        }, false, false), defaultParameterTransformer.getNumberParser());
+        defineBuiltInParameterType(new ParameterType<>("double", localizedFloatRegexp, Double.class, new Transformer<>() {
             @Override
             public @Nullable Double transform(@Nullable String arg) throws Throwable {
                 return (Double) internalParameterTransformer.transform(arg, Double.class);
             }
-        }, true, true, false));
-        defineParameterType(new ParameterType<>("word", WORD_REGEXPS, String.class, new Transformer<>() {
+        }, true, true, false), defaultParameterTransformer.getNumberParser());
+        defineBuiltInParameterType(new ParameterType<>("word", WORD_REGEXPS, String.class, new Transformer<>() {
             @Override
             public @Nullable String transform(@Nullable String arg) throws Throwable {
                 return (String) internalParameterTransformer.transform(arg, String.class);
             }
         }, false, false, false));
-        defineParameterType(new ParameterType<>("string", STRING_REGEXPS, String.class, new CaptureGroupTransformer<String>() {
+        defineBuiltInParameterType(new ParameterType<>("string", STRING_REGEXPS, String.class, new CaptureGroupTransformer<String>() {
             @Override
             public @Nullable String transform(@Nullable String[] args) throws Throwable {
                 String arg = args[0] != null ? args[0] : args[1];
@@ -140,50 +158,86 @@ public final class ParameterTypeRegistry {
         defineParameterType(createAnonymousParameterType(ANONYMOUS_REGEX));
     }
 
-    public void defineParameterType(ParameterType<?> parameterType) {
-        if (parameterTypeByName.containsKey(parameterType.getName())) {
-            if (parameterType.getName().isEmpty()) {
-                throw new DuplicateTypeNameException("The anonymous parameter type has already been defined");
-            }
-            throw new DuplicateTypeNameException("There is already a parameter type with name %s".formatted(
-                    parameterType.getName()
-            ));
-        }
-        parameterTypeByName.put(parameterType.getName(), parameterType);
+    private void defineBuiltInParameterType(ParameterType<?> parameterType) {
+        defineParameterType(parameterType.asBuiltIn());
+    }
 
-        for (String parameterTypeRegexp : parameterType.getRegexps()) {
-            if (!parameterTypesByRegexp.containsKey(parameterTypeRegexp)) {
-                parameterTypesByRegexp.put(parameterTypeRegexp, new TreeSet<>());
-            }
-            SortedSet<ParameterType<?>> parameterTypes = parameterTypesByRegexp.get(parameterTypeRegexp);
-            if (!parameterTypes.isEmpty() && parameterTypes.first().preferForRegexpMatch() && parameterType.preferForRegexpMatch()) {
-                throw new CucumberExpressionException("""
-                        There can only be one preferential parameter type per regexp.
-                        The regexp /%s/ is used for two preferential parameter types, {%s} and {%s}""".formatted(
-                        parameterTypeRegexp, 
-                        parameterTypes.first().getName(), 
-                        parameterType.getName()));
-            }
-            parameterTypes.add(parameterType);
-        }
+    private void defineBuiltInParameterType(ParameterType<?> parameterType, NumberParser numberParser) {
+        defineParameterType(parameterType.asBuiltIn(numberParser));
+    }
+
+    public synchronized void defineParameterType(ParameterType<?> parameterType) {
+        snapshot = snapshot.define(parameterType);
     }
 
     ParameterByTypeTransformer getDefaultParameterTransformer() {
         return defaultParameterTransformer;
     }
 
-    public void setDefaultParameterTransformer(ParameterByTypeTransformer defaultParameterTransformer) {
+    public synchronized void setDefaultParameterTransformer(ParameterByTypeTransformer defaultParameterTransformer) {
         this.defaultParameterTransformer = defaultParameterTransformer;
+        generation++;
+    }
+
+    /**
+     * Returns the statistics of the transforms of each parameter type, by
+     * the name of the parameter type. Transforms by the anonymous parameter
+     * type are under the empty name.
+     * <p>
+     * Transforms are recorded for the lifetime of a parameter type, by every
+     * expression that uses it. Values that {@link Argument} could read
+     * without transforming them are not counted, nor are values found in a
+     * {@linkplain ParameterType#withTransformCache(int) transform cache}.
+     * Neither are capture groups of regular expressions that do not match a
+     * defined parameter type.
+     *
+     * @return a snapshot of the statistics, ordered by name
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public Map<String, TransformStatistics> getTransformStatistics() {
+        Map<String, TransformStatistics> statistics = new TreeMap<>();
+        for (CompiledParameterType compiledParameterType : snapshot.getParameterTypes()) {
+            ParameterType<?> parameterType = compiledParameterType.getParameterType();
+            statistics.put(parameterType.getName(), parameterType.getTransformStatistics());
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Returns the statistics of the transforms of a parameter type.
+     *
+     * @param parameterTypeName the name of the parameter type
+     * @return a snapshot of the statistics, or {@code null} if there is no
+     * parameter type with this name
+     * @see #getTransformStatistics()
+     */
+    @API(since = "20.2", status = API.Status.EXPERIMENTAL)
+    public @Nullable TransformStatistics getTransformStatistics(String parameterTypeName) {
+        CompiledParameterType compiledParameterType = snapshot.lookupByTypeName(parameterTypeName);
+        return compiledParameterType == null ? null : compiledParameterType.getParameterType().getTransformStatistics();
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Returns the parameter types as they are defined right now. Later
+     * definitions do not affect the returned snapshot.
+     */
+    ParameterTypeSnapshot getSnapshot() {
+        return snapshot;
     }
 
     @SuppressWarnings("unchecked")
     <T> @Nullable ParameterType<T> lookupByTypeName(String typeName) {
-        return (ParameterType<T>) parameterTypeByName.get(typeName);
+        CompiledParameterType compiledParameterType = snapshot.lookupByTypeName(typeName);
+        return compiledParameterType == null ? null : (ParameterType<T>) compiledParameterType.getParameterType();
     }
 
     @SuppressWarnings("unchecked")
     <T> @Nullable ParameterType<T> lookupByRegexp(String parameterTypeRegexp, Pattern expressionRegexp, String text) {
-        SortedSet<ParameterType<?>> parameterTypes = parameterTypesByRegexp.get(parameterTypeRegexp);
+        SortedSet<ParameterType<?>> parameterTypes = snapshot.lookupByRegexp(parameterTypeRegexp);
         if (parameterTypes == null) return null;
         if (parameterTypes.size() > 1 && !parameterTypes.first().preferForRegexpMatch()) {
             // We don't do this check on insertion because we only want to restrict
@@ -195,8 +249,4 @@ public final class ParameterTypeRegistry {
         return (ParameterType<T>) parameterTypes.first();
     }
 
-    Collection<ParameterType<?>> getParameterTypes() {
-        return parameterTypeByName.values();
-    }
-
 }
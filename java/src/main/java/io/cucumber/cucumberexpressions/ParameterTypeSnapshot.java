@@ -0,0 +1,112 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySortedSet;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableSortedSet;
+
+/**
+ * An immutable snapshot of the parameter types defined in a
+ * {@link ParameterTypeRegistry}.
+ * <p>
+ * Defining a parameter type creates a new snapshot. The
+ * {@link CompiledParameterType}s of the previous snapshot are reused, so the
+ * regular expressions derived from a parameter type are computed only once.
+ */
+final class ParameterTypeSnapshot {
+    static final ParameterTypeSnapshot EMPTY = new ParameterTypeSnapshot(emptyMap(), emptyMap());
+
+    private final Map<String, CompiledParameterType> parameterTypeByName;
+    private final Map<String, SortedSet<ParameterType<?>>> parameterTypesByRegexp;
+    private final List<CompiledParameterType> snippetParameterTypes;
+    private volatile @Nullable SnippetScanner snippetScanner;
+
+    private ParameterTypeSnapshot(
+            Map<String, CompiledParameterType> parameterTypeByName,
+            Map<String, SortedSet<ParameterType<?>>> parameterTypesByRegexp
+    ) {
+        this.parameterTypeByName = parameterTypeByName;
+        this.parameterTypesByRegexp = parameterTypesByRegexp;
+        List<CompiledParameterType> snippetParameterTypes = new ArrayList<>();
+        for (CompiledParameterType compiledParameterType : parameterTypeByName.values()) {
+            if (compiledParameterType.getParameterType().useForSnippets()) {
+                snippetParameterTypes.add(compiledParameterType);
+            }
+        }
+        this.snippetParameterTypes = unmodifiableList(snippetParameterTypes);
+    }
+
+    ParameterTypeSnapshot define(ParameterType<?> parameterType) {
+        if (parameterTypeByName.containsKey(parameterType.getName())) {
+            if (parameterType.getName().isEmpty()) {
+                throw new DuplicateTypeNameException("The anonymous parameter type has already been defined");
+            }
+            throw new DuplicateTypeNameException("There is already a parameter type with name %s".formatted(
+                    parameterType.getName()
+            ));
+        }
+
+        Map<String, SortedSet<ParameterType<?>>> parameterTypesByRegexp = new HashMap<>(this.parameterTypesByRegexp);
+        for (String parameterTypeRegexp : parameterType.getRegexps()) {
+            SortedSet<ParameterType<?>> existingParameterTypes = parameterTypesByRegexp.getOrDefault(parameterTypeRegexp, emptySortedSet());
+            if (!existingParameterTypes.isEmpty() && existingParameterTypes.first().preferForRegexpMatch() && parameterType.preferForRegexpMatch()) {
+                throw new CucumberExpressionException("""
+                        There can only be one preferential parameter type per regexp.
+                        The regexp /%s/ is used for two preferential parameter types, {%s} and {%s}""".formatted(
+                        parameterTypeRegexp,
+                        existingParameterTypes.first().getName(),
+                        parameterType.getName()));
+            }
+            SortedSet<ParameterType<?>> parameterTypes = new TreeSet<>(existingParameterTypes);
+            parameterTypes.add(parameterType);
+            parameterTypesByRegexp.put(parameterTypeRegexp, unmodifiableSortedSet(parameterTypes));
+        }
+
+        Map<String, CompiledParameterType> parameterTypeByName = new HashMap<>(this.parameterTypeByName);
+        parameterTypeByName.put(parameterType.getName(), new CompiledParameterType(parameterType));
+        return new ParameterTypeSnapshot(parameterTypeByName, parameterTypesByRegexp);
+    }
+
+    @Nullable CompiledParameterType lookupByTypeName(String typeName) {
+        return parameterTypeByName.get(typeName);
+    }
+
+    Collection<CompiledParameterType> getParameterTypes() {
+        return parameterTypeByName.values();
+    }
+
+    @Nullable SortedSet<ParameterType<?>> lookupByRegexp(String parameterTypeRegexp) {
+        return parameterTypesByRegexp.get(parameterTypeRegexp);
+    }
+
+    /**
+     * The parameter types that should be used to generate snippets.
+     */
+    List<CompiledParameterType> getSnippetParameterTypes() {
+        return snippetParameterTypes;
+    }
+
+    /**
+     * Scans texts for the snippet parameter types. Created when first
+     * needed.
+     */
+    SnippetScanner getSnippetScanner() {
+        SnippetScanner scanner = snippetScanner;
+        if (scanner == null) {
+            scanner = new SnippetScanner(snippetParameterTypes);
+            snippetScanner = scanner;
+        }
+        return scanner;
+    }
+
+}
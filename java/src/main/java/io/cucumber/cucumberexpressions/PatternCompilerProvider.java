@@ -9,18 +9,28 @@ import java.util.ServiceLoader;
 
 final class PatternCompilerProvider {
     // visible from tests
-    static @Nullable PatternCompiler service;
+    static volatile @Nullable PatternCompiler service;
 
     private PatternCompilerProvider() {
     }
 
-    static synchronized PatternCompiler getCompiler() {
-        if (service == null) {
-            ServiceLoader<PatternCompiler> loader = ServiceLoader.load(PatternCompiler.class);
-            Iterator<PatternCompiler> iterator = loader.iterator();
-            service = findPatternCompiler(iterator);
+    static PatternCompiler getCompiler() {
+        // Avoid taking a lock on every expression created after the service
+        // has been loaded.
+        PatternCompiler compiler = service;
+        if (compiler != null) {
+            return compiler;
+        }
+        synchronized (PatternCompilerProvider.class) {
+            compiler = service;
+            if (compiler == null) {
+                ServiceLoader<PatternCompiler> loader = ServiceLoader.load(PatternCompiler.class);
+                Iterator<PatternCompiler> iterator = loader.iterator();
+                compiler = findPatternCompiler(iterator);
+                service = compiler;
+            }
+            return compiler;
         }
-        return service;
     }
 
     static PatternCompiler findPatternCompiler(Iterator<PatternCompiler> iterator) {
@@ -0,0 +1,34 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Matches with {@code java.util.regex}.
+ * <p>
+ * Each thread reuses its own {@link Matcher}, so that a text that does not
+ * match allocates nothing.
+ */
+final class PatternGroupMatcher implements GroupMatcher {
+    private final ThreadLocal<Matcher> matchers;
+
+    PatternGroupMatcher(Pattern pattern) {
+        this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+    }
+
+    @Override
+    public int @Nullable [] match(CharSequence text) {
+        final Matcher matcher = matchers.get().reset(text);
+        if (!matcher.matches())
+            return null;
+        int groupCount = matcher.groupCount();
+        int[] bounds = new int[2 * (groupCount + 1)];
+        for (int i = 0; i <= groupCount; i++) {
+            bounds[2 * i] = matcher.start(i);
+            bounds[2 * i + 1] = matcher.end(i);
+        }
+        return bounds;
+    }
+}
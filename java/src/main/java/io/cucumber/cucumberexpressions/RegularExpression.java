@@ -8,7 +8,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
 
-import static io.cucumber.cucumberexpressions.ParameterType.createAnonymousParameterType;
+import static io.cucumber.cucumberexpressions.ParameterType.createUnregisteredAnonymousParameterType;
 
 @API(status = API.Status.STABLE)
 public final class RegularExpression implements Expression {
@@ -27,16 +27,36 @@ public final class RegularExpression implements Expression {
     RegularExpression(Pattern expressionRegexp, ParameterTypeRegistry parameterTypeRegistry) {
         this.expressionRegexp = expressionRegexp;
         this.parameterTypeRegistry = parameterTypeRegistry;
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        long start = metrics == null ? 0 : System.nanoTime();
         this.treeRegexp = new TreeRegexp(expressionRegexp);
+        if (metrics != null) {
+            metrics.expressionCompiled(expressionRegexp.pattern(), System.nanoTime() - start);
+        }
     }
 
     @Override
     public Optional<List<Argument<?>>> match(String text, Type... typeHints) {
-        final Group group = treeRegexp.match(text);
-        if (group == null) {
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        if (metrics == null) {
+            return doMatch(text, typeHints);
+        }
+        long start = System.nanoTime();
+        Optional<List<Argument<?>>> arguments = doMatch(text, typeHints);
+        metrics.expressionMatched(getSource(), arguments.isPresent(), System.nanoTime() - start);
+        return arguments;
+    }
+
+    private Optional<List<Argument<?>>> doMatch(String text, Type... typeHints) {
+        final GroupMatch groupMatch = treeRegexp.matchLazily(text);
+        if (groupMatch == null) {
             return Optional.empty();
         }
+        return Optional.of(createArguments(groupMatch, typeHints));
+    }
 
+    List<Argument<?>> createArguments(GroupMatch groupMatch, Type... typeHints) {
+        final String text = groupMatch.getText().toString();
         final ParameterByTypeTransformer defaultTransformer = parameterTypeRegistry.getDefaultParameterTransformer();
         final List<ParameterType<?>> parameterTypes = new ArrayList<>();
         int typeHintIndex = 0;
@@ -59,10 +79,10 @@ public final class RegularExpression implements Expression {
             }
 
             if (parameterType == null) {
-                parameterType = createAnonymousParameterType(parameterTypeRegexp);
+                parameterType = createUnregisteredAnonymousParameterType(parameterTypeRegexp);
             }
 
-            // Either from createAnonymousParameterType or lookupByRegexp
+            // Either from createUnregisteredAnonymousParameterType or lookupByRegexp
             if (parameterType.isAnonymous()) {
                 parameterType = parameterType.deAnonymize(typeHint, arg -> defaultTransformer.transform(arg, typeHint));
             }
@@ -70,7 +90,11 @@ public final class RegularExpression implements Expression {
             parameterTypes.add(parameterType);
         }
 
-        return Optional.of(Argument.build(group, parameterTypes));
+        return Argument.build(groupMatch, parameterTypes);
+    }
+
+    TreeRegexp getTreeRegexp() {
+        return treeRegexp;
     }
 
     @Override
@@ -0,0 +1,88 @@
+package io.cucumber.cucumberexpressions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static io.cucumber.cucumberexpressions.Node.Type.TEXT_NODE;
+
+/**
+ * The literal text any match of a Cucumber expression must contain.
+ * <p>
+ * Derived from the top level text nodes of the AST. Text in optionals and
+ * alternations is not required and is ignored. Checking these with
+ * {@link String#regionMatches} and {@link String#indexOf} is much cheaper than
+ * running the regex, and most texts do not match most expressions.
+ */
+final class RequiredLiterals {
+    // Flags that make a regex match text other than the literal text
+    static final int INCOMPATIBLE_FLAGS = Pattern.CASE_INSENSITIVE | Pattern.CANON_EQ | Pattern.COMMENTS;
+    private static final RequiredLiterals NONE = new RequiredLiterals("", new String[0], "");
+
+    private final String prefix;
+    private final String[] infixes;
+    private final String suffix;
+    private final int minimumLength;
+
+    private RequiredLiterals(String prefix, String[] infixes, String suffix) {
+        this.prefix = prefix;
+        this.infixes = infixes;
+        this.suffix = suffix;
+        int minimumLength = prefix.length() + suffix.length();
+        for (String infix : infixes) {
+            minimumLength += infix.length();
+        }
+        this.minimumLength = minimumLength;
+    }
+
+    static RequiredLiterals of(FlatAst expression, Pattern pattern) {
+        if ((pattern.flags() & INCOMPATIBLE_FLAGS) != 0) {
+            return NONE;
+        }
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (int node = expression.firstChild(0); node != FlatAst.NONE; node = expression.nextSibling(node)) {
+            if (expression.type(node) == TEXT_NODE) {
+                literal.append(expression.text(node));
+            } else {
+                literals.add(literal.toString());
+                literal.setLength(0);
+            }
+        }
+        if (literals.isEmpty()) {
+            // Only text, the prefix is the whole expression
+            return new RequiredLiterals(literal.toString(), new String[0], "");
+        }
+        String prefix = literals.get(0);
+        String[] infixes = literals.subList(1, literals.size()).stream()
+                .filter(infix -> !infix.isEmpty())
+                .toArray(String[]::new);
+        return new RequiredLiterals(prefix, infixes, literal.toString());
+    }
+
+    /**
+     * Returns false when the text can not match the expression.
+     */
+    boolean mayMatch(String text) {
+        int length = text.length();
+        if (length < minimumLength) {
+            return false;
+        }
+        if (!text.startsWith(prefix)) {
+            return false;
+        }
+        int end = length - suffix.length();
+        if (!text.regionMatches(end, suffix, 0, suffix.length())) {
+            return false;
+        }
+        int from = prefix.length();
+        for (String infix : infixes) {
+            int index = text.indexOf(infix, from);
+            if (index < 0) {
+                return false;
+            }
+            from = index + infix.length();
+        }
+        return from <= end;
+    }
+}
@@ -0,0 +1,163 @@
+package io.cucumber.cucumberexpressions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Finds the parameter types to use in the snippets of a text.
+ * <p>
+ * The scanner is created once per {@link ParameterTypeSnapshot} from the
+ * regexps of all snippet parameter types. A text is then scanned from left
+ * to right. Each regexp is searched from the end of the previous parameter,
+ * but a search is only repeated once the scan has moved past the first
+ * match it found. Until then searching again would find the same, so the
+ * regexps that do not match near the current position, or not at all, are
+ * not searched again for every parameter.
+ * <p>
+ * Regexps that may match differently depending on where the search starts
+ * are searched again for every parameter.
+ * <p>
+ * The scanner is immutable and can be shared between threads.
+ */
+final class SnippetScanner {
+    private final List<SnippetRegexp> regexps;
+
+    SnippetScanner(List<CompiledParameterType> snippetParameterTypes) {
+        List<SnippetRegexp> regexps = new ArrayList<>();
+        for (CompiledParameterType compiledParameterType : snippetParameterTypes) {
+            ParameterType<?> parameterType = compiledParameterType.getParameterType();
+            for (Pattern pattern : compiledParameterType.getCaptureGroupPatterns()) {
+                regexps.add(new SnippetRegexp(parameterType, pattern, !dependsOnSearchStart(pattern)));
+            }
+        }
+        this.regexps = unmodifiableList(regexps);
+    }
+
+    /**
+     * Whether the regexp may match differently at a position depending on
+     * where the search started. Anchors, word boundaries and lookbehinds
+     * can not look before the start of the region of a matcher.
+     */
+    static boolean dependsOnSearchStart(Pattern pattern) {
+        if ((pattern.flags() & Pattern.COMMENTS) != 0) {
+            // Comments may contain anything
+            return true;
+        }
+        String source = pattern.pattern();
+        boolean escaping = false;
+        int characterClassDepth = 0;
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (escaping) {
+                if (c == 'Q') {
+                    // Quotes may contain anything
+                    return true;
+                }
+                if (characterClassDepth == 0 && (c == 'b' || c == 'B' || c == 'A' || c == 'G')) {
+                    return true;
+                }
+                escaping = false;
+            } else if (c == '\\') {
+                escaping = true;
+            } else if (c == '[') {
+                characterClassDepth++;
+            } else if (c == ']' && characterClassDepth > 0) {
+                characterClassDepth--;
+            } else if (characterClassDepth == 0) {
+                if (c == '^' || source.startsWith("(?<=", i) || source.startsWith("(?<!", i)) {
+                    return true;
+                }
+                if (source.startsWith("(?", i) && hasCommentsFlag(source, i + 2)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCommentsFlag(String source, int i) {
+        for (; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == 'x') {
+                return true;
+            }
+            if (!Character.isLetter(c) && c != '-') {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    Scan scan(String text) {
+        return new Scan(text);
+    }
+
+    /**
+     * The scan of a single text.
+     */
+    final class Scan {
+        private final List<ParameterTypeMatcher> parameterTypeMatchers = new ArrayList<>();
+        private final List<ParameterTypeMatcher> bestParameterTypeMatchers = new ArrayList<>();
+
+        private Scan(String text) {
+            for (SnippetRegexp regexp : regexps) {
+                parameterTypeMatchers.add(new ParameterTypeMatcher(regexp.parameterType, regexp.pattern.matcher(text), text, regexp.reusable));
+            }
+        }
+
+        /**
+         * Finds the leftmost, widest and heaviest parameters that start at
+         * or after {@code pos}.
+         *
+         * @return true if a parameter was found
+         */
+        boolean find(int pos) {
+            bestParameterTypeMatchers.clear();
+            for (ParameterTypeMatcher parameterTypeMatcher : parameterTypeMatchers) {
+                if (!parameterTypeMatcher.advanceToAndFind(pos)) {
+                    continue;
+                }
+                if (!bestParameterTypeMatchers.isEmpty()) {
+                    int comparison = parameterTypeMatcher.compareTo(bestParameterTypeMatchers.get(0));
+                    if (comparison > 0) {
+                        continue;
+                    }
+                    if (comparison < 0) {
+                        bestParameterTypeMatchers.clear();
+                    }
+                }
+                bestParameterTypeMatchers.add(parameterTypeMatcher);
+            }
+            return !bestParameterTypeMatchers.isEmpty();
+        }
+
+        int start() {
+            return bestParameterTypeMatchers.get(0).start();
+        }
+
+        int end() {
+            return bestParameterTypeMatchers.get(0).end();
+        }
+
+        /**
+         * The parameter types of the parameters found, without duplicates
+         * and with preferential parameter types first.
+         */
+        List<ParameterType<?>> getParameterTypes() {
+            // Parameter types with more than one regexp may have been found
+            // more than once.
+            TreeSet<ParameterType<?>> parameterTypes = new TreeSet<>();
+            for (ParameterTypeMatcher parameterTypeMatcher : bestParameterTypeMatchers) {
+                parameterTypes.add(parameterTypeMatcher.getParameterType());
+            }
+            return new ArrayList<>(parameterTypes);
+        }
+    }
+
+    private record SnippetRegexp(ParameterType<?> parameterType, Pattern pattern, boolean reusable) {
+    }
+}
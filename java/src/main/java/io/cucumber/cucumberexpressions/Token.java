@@ -16,43 +16,82 @@ final class Token implements Located {
     private static final char beginOptionalCharacter = '(';
     private static final char endOptionalCharacter = ')';
 
-    final String text;
     final Type type;
     final int start;
     final int end;
+    private final String source;
+    private final int sourceStart;
+    private final int sourceEnd;
+    private final boolean escaped;
 
     Token(String text, Type type, int start, int end) {
-        this.text = requireNonNull(text);
+        this(text, 0, text.length(), false, type, start, end);
+    }
+
+    /**
+     * @param source      the expression
+     * @param sourceStart the index of the first char of the token in the
+     *                    expression
+     * @param sourceEnd   the index after the last char of the token in the
+     *                    expression
+     * @param escaped     whether the token contains escape characters
+     * @param type        the type of the token
+     * @param start       the index of the first code point of the token
+     * @param end         the index after the last code point of the token
+     */
+    Token(String source, int sourceStart, int sourceEnd, boolean escaped, Type type, int start, int end) {
+        this.source = requireNonNull(source);
+        this.sourceStart = sourceStart;
+        this.sourceEnd = sourceEnd;
+        this.escaped = escaped;
         this.type = requireNonNull(type);
         this.start = start;
         this.end = end;
     }
 
-    static boolean canEscape(Integer token) {
+    /**
+     * The text of the token, without escape characters.
+     */
+    String text() {
+        if (!escaped) {
+            return source.substring(sourceStart, sourceEnd);
+        }
+        StringBuilder text = new StringBuilder(sourceEnd - sourceStart);
+        for (int i = sourceStart; i < sourceEnd; i++) {
+            char c = source.charAt(i);
+            if (c == escapeCharacter) {
+                c = source.charAt(++i);
+            }
+            text.append(c);
+        }
+        return text.toString();
+    }
+
+    static boolean canEscape(int token) {
         if (Character.isWhitespace(token)) {
             return true;
         }
         return switch (token) {
-            case (int) escapeCharacter,
-                 (int) alternationCharacter,
-                 (int) beginParameterCharacter,
-                 (int) endParameterCharacter,
-                 (int) beginOptionalCharacter,
-                 (int) endOptionalCharacter -> true;
+            case escapeCharacter,
+                 alternationCharacter,
+                 beginParameterCharacter,
+                 endParameterCharacter,
+                 beginOptionalCharacter,
+                 endOptionalCharacter -> true;
             default -> false;
         };
     }
 
-    static Type typeOf(Integer token) {
+    static Type typeOf(int token) {
         if (Character.isWhitespace(token)) {
             return Type.WHITE_SPACE;
         }
         return switch (token) {
-            case (int) alternationCharacter -> Type.ALTERNATION;
-            case (int) beginParameterCharacter -> Type.BEGIN_PARAMETER;
-            case (int) endParameterCharacter -> Type.END_PARAMETER;
-            case (int) beginOptionalCharacter -> Type.BEGIN_OPTIONAL;
-            case (int) endOptionalCharacter -> Type.END_OPTIONAL;
+            case alternationCharacter -> Type.ALTERNATION;
+            case beginParameterCharacter -> Type.BEGIN_PARAMETER;
+            case endParameterCharacter -> Type.END_PARAMETER;
+            case beginOptionalCharacter -> Type.BEGIN_OPTIONAL;
+            case endOptionalCharacter -> Type.END_OPTIONAL;
             default -> Type.TEXT;
         };
     }
@@ -80,13 +119,13 @@ final class Token implements Located {
         Token token = (Token) o;
         return start == token.start &&
                 end == token.end &&
-                text.equals(token.text) &&
+                text().equals(token.text()) &&
                 type == token.type;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(start, end, text, type);
+        return Objects.hash(start, end, text(), type);
     }
 
     @Override
@@ -95,7 +134,7 @@ final class Token implements Located {
                 .add("\"type\": \"" + type + "\"")
                 .add("\"start\": " + start)
                 .add("\"end\": " + end)
-                .add("\"text\": \"" + text + "\"")
+                .add("\"text\": \"" + text() + "\"")
                 .toString();
     }
 
@@ -0,0 +1,65 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded least recently used cache of the values transformed by a
+ * parameter type, by the values of the capture groups they were transformed
+ * from.
+ */
+final class TransformCache<T> {
+    private final int maximumSize;
+    private final Map<List<@Nullable String>, Value<T>> values;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    TransformCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive, but was " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        this.values = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<@Nullable String>, Value<T>> eldest) {
+                if (size() > TransformCache.this.maximumSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the cached value, or {@code null} if no value was cached. A
+     * cached {@code null} is returned as a value holding {@code null}.
+     */
+    synchronized @Nullable Value<T> get(List<@Nullable String> groupValues) {
+        Value<T> value = values.get(groupValues);
+        if (value == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return value;
+    }
+
+    /**
+     * @param groupValues not modified after it was cached
+     */
+    synchronized void put(List<@Nullable String> groupValues, @Nullable T value) {
+        values.put(groupValues, new Value<>(value));
+    }
+
+    synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount);
+    }
+
+    record Value<T>(@Nullable T value) {
+    }
+}
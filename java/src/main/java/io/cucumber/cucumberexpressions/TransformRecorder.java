@@ -0,0 +1,125 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the transforms of a parameter type.
+ * <p>
+ * Uses striped counters, so that transforms on many threads at once do not
+ * contend. The durations are counted in buckets of powers of two, see
+ * {@link TransformStatistics#getPercentileNanos(double)}.
+ * <p>
+ * The counters are only created when the first transform is recorded, so
+ * parameter types that are never used stay small.
+ */
+final class TransformRecorder {
+    static final int BUCKETS = 32;
+    // The first bucket counts durations up to 2^10 nanos, about a microsecond
+    static final int FIRST_BUCKET_BITS = 10;
+
+    /**
+     * Records nothing. Used for parameter types that are not defined in a
+     * registry, whose statistics can not be read.
+     */
+    static final TransformRecorder NONE = new TransformRecorder(false);
+
+    private final boolean enabled;
+    private volatile @Nullable Counters counters;
+
+    TransformRecorder() {
+        this(true);
+    }
+
+    private TransformRecorder(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether transforms are recorded, i.e. whether they have to be timed.
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    void record(long nanos, boolean failed) {
+        if (!enabled) {
+            return;
+        }
+        Counters counters = this.counters;
+        if (counters == null) {
+            counters = createCounters();
+        }
+        counters.record(nanos, failed);
+    }
+
+    private synchronized Counters createCounters() {
+        Counters counters = this.counters;
+        if (counters == null) {
+            counters = new Counters();
+            this.counters = counters;
+        }
+        return counters;
+    }
+
+    static int bucket(long nanos) {
+        int bits = 64 - Long.numberOfLeadingZeros(nanos);
+        return Math.max(0, Math.min(BUCKETS - 1, bits - FIRST_BUCKET_BITS));
+    }
+
+    /**
+     * Returns the upper bound, exclusive, of the durations in a bucket.
+     */
+    static long upperBound(int bucket) {
+        return 1L << (bucket + FIRST_BUCKET_BITS);
+    }
+
+    TransformStatistics getStatistics() {
+        Counters counters = this.counters;
+        if (counters == null) {
+            return new TransformStatistics(0, 0, 0, 0, new long[BUCKETS]);
+        }
+        return counters.getStatistics();
+    }
+
+    private static final class Counters {
+        private final LongAdder transformCount = new LongAdder();
+        private final LongAdder failureCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+        Counters() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, boolean failed) {
+            transformCount.increment();
+            if (failed) {
+                failureCount.increment();
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            buckets[bucket(nanos)].increment();
+        }
+
+        TransformStatistics getStatistics() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            // Not an atomic snapshot, transforms on other threads may be counted
+            // in some sums but not yet in others.
+            return new TransformStatistics(
+                    transformCount.sum(),
+                    failureCount.sum(),
+                    totalNanos.sum(),
+                    maxNanos.get(),
+                    counts);
+        }
+    }
+}
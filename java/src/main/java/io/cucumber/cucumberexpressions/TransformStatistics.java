@@ -0,0 +1,107 @@
+package io.cucumber.cucumberexpressions;
+
+import org.apiguardian.api.API;
+
+import static org.apiguardian.api.API.Status.EXPERIMENTAL;
+
+/**
+ * A snapshot of the statistics of the transforms of a parameter type.
+ *
+ * @see ParameterTypeRegistry#getTransformStatistics()
+ */
+@API(since = "20.2", status = EXPERIMENTAL)
+public final class TransformStatistics {
+    private final long transformCount;
+    private final long failureCount;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] buckets;
+
+    TransformStatistics(long transformCount, long failureCount, long totalNanos, long maxNanos, long[] buckets) {
+        this.transformCount = transformCount;
+        this.failureCount = failureCount;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Returns the number of transforms, including those that failed.
+     */
+    public long getTransformCount() {
+        return transformCount;
+    }
+
+    /**
+     * Returns the number of transforms that threw an exception.
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Returns the total time spent transforming, in nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Returns the time of the slowest transform, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns the average time of a transform in nanoseconds, or {@code 0.0}
+     * when there were no transforms.
+     */
+    public double getMeanNanos() {
+        return transformCount == 0 ? 0.0 : (double) totalNanos / transformCount;
+    }
+
+    /**
+     * Returns the time within which the given percentage of transforms
+     * completed, in nanoseconds.
+     * <p>
+     * Durations are counted in buckets of powers of two, so the result is
+     * an upper bound that is at most twice the exact percentile, and never
+     * more than {@link #getMaxNanos()}.
+     *
+     * @param percentile the percentage, from {@code 0} to {@code 100}
+     * @return the upper bound of the percentile, or {@code 0} when there
+     * were no transforms
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100, not " + percentile);
+        }
+        long count = 0;
+        for (long bucket : buckets) {
+            count += bucket;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(TransformRecorder.upperBound(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "TransformStatistics{" +
+                "transformCount=" + transformCount +
+                ", failureCount=" + failureCount +
+                ", totalNanos=" + totalNanos +
+                ", maxNanos=" + maxNanos +
+                '}';
+    }
+}
@@ -4,9 +4,7 @@ import org.jspecify.annotations.Nullable;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.IntStream;
 
 import static java.util.Collections.singleton;
 
@@ -17,15 +15,31 @@ import static java.util.Collections.singleton;
  */
 final class TreeRegexp {
     private final Pattern pattern;
+    private volatile @Nullable GroupMatcher groupMatcher;
     private final GroupBuilder groupBuilder;
+    private final int[][] childGroupIndexes;
 
     TreeRegexp(String regexp) {
-        this(PatternCompilerProvider.getCompiler().compile(regexp, Pattern.UNICODE_CHARACTER_CLASS));
+        this(compile(regexp));
     }
 
     TreeRegexp(Pattern pattern) {
+        this(pattern, createGroupBuilder(pattern));
+    }
+
+    /**
+     * @param pattern      the compiled regexp
+     * @param groupBuilder the groups of the regexp, as created by
+     *                     {@link #createGroupBuilder(Pattern)}
+     */
+    TreeRegexp(Pattern pattern, GroupBuilder groupBuilder) {
         this.pattern = pattern;
-        this.groupBuilder = createGroupBuilder(pattern);
+        this.groupBuilder = groupBuilder;
+        this.childGroupIndexes = groupBuilder.flatten();
+    }
+
+    static Pattern compile(String regexp) {
+        return PatternCompilerProvider.getCompiler().compile(regexp, Pattern.UNICODE_CHARACTER_CLASS);
     }
 
     static GroupBuilder createGroupBuilder(Pattern pattern) {
@@ -87,10 +101,53 @@ final class TreeRegexp {
 
     @Nullable
     Group match(CharSequence s) {
-        final Matcher matcher = pattern.matcher(s);
-        if (!matcher.matches())
+        GroupMatch groupMatch = matchLazily(s);
+        if (groupMatch == null) {
+            return null;
+        }
+        return groupMatch.toGroup(0);
+    }
+
+    /**
+     * Matches without creating the {@link Group} tree.
+     */
+    @Nullable
+    GroupMatch matchLazily(CharSequence s) {
+        ExpressionMetrics metrics = ExpressionMetricsProvider.getMetrics();
+        int[] bounds;
+        if (metrics == null) {
+            bounds = getGroupMatcher().match(s);
+        } else {
+            long start = System.nanoTime();
+            bounds = getGroupMatcher().match(s);
+            metrics.regexpMatched(pattern.pattern(), bounds != null, System.nanoTime() - start);
+        }
+        if (bounds == null) {
             return null;
-        return groupBuilder.build(matcher, IntStream.rangeClosed(0, matcher.groupCount()).iterator());
+        }
+        return toGroupMatch(s, bounds);
+    }
+
+    /**
+     * Creates a match from the bounds of the capture groups of this regexp,
+     * e.g. when it was matched as part of a larger pattern.
+     */
+    GroupMatch toGroupMatch(CharSequence s, int[] bounds) {
+        return new GroupMatch(s, bounds, childGroupIndexes);
+    }
+
+    /**
+     * The group matcher is only created when first needed, many expressions
+     * are never matched.
+     */
+    private GroupMatcher getGroupMatcher() {
+        GroupMatcher matcher = groupMatcher;
+        if (matcher == null) {
+            // Racing threads create equivalent matchers
+            matcher = GroupMatcher.create(pattern);
+            groupMatcher = matcher;
+        }
+        return matcher;
     }
 
     GroupBuilder getGroupBuilder() {
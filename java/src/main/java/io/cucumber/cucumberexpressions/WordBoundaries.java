@@ -0,0 +1,75 @@
+package io.cucumber.cucumberexpressions;
+
+/**
+ * Tells whether a parameter in a snippet is surrounded by whitespace,
+ * punctuation or symbols, the characters matched by
+ * {@code [\p{Z}\p{P}\p{S}]}.
+ * <p>
+ * The characters of the basic multilingual plane are looked up in a table
+ * computed once. Other code points are looked up by their
+ * {@link Character#getType(int) type}.
+ */
+final class WordBoundaries {
+    private static final int WHITESPACE_OR_PUNCTUATION_OR_SYMBOL_TYPES = 0
+            // \p{Z}
+            | 1 << Character.SPACE_SEPARATOR
+            | 1 << Character.LINE_SEPARATOR
+            | 1 << Character.PARAGRAPH_SEPARATOR
+            // \p{P}
+            | 1 << Character.CONNECTOR_PUNCTUATION
+            | 1 << Character.DASH_PUNCTUATION
+            | 1 << Character.START_PUNCTUATION
+            | 1 << Character.END_PUNCTUATION
+            | 1 << Character.INITIAL_QUOTE_PUNCTUATION
+            | 1 << Character.FINAL_QUOTE_PUNCTUATION
+            | 1 << Character.OTHER_PUNCTUATION
+            // \p{S}
+            | 1 << Character.MATH_SYMBOL
+            | 1 << Character.CURRENCY_SYMBOL
+            | 1 << Character.MODIFIER_SYMBOL
+            | 1 << Character.OTHER_SYMBOL;
+
+    /**
+     * One bit per character of the basic multilingual plane.
+     */
+    private static final long[] WHITESPACE_OR_PUNCTUATION_OR_SYMBOL = new long[(Character.MAX_VALUE + 1) / 64];
+
+    static {
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            if (hasWhitespaceOrPunctuationOrSymbolType(c)) {
+                WHITESPACE_OR_PUNCTUATION_OR_SYMBOL[c >>> 6] |= 1L << c;
+            }
+        }
+    }
+
+    private WordBoundaries() {
+        /* no-op */
+    }
+
+    static boolean isWhitespaceOrPunctuationOrSymbol(int codePoint) {
+        if (codePoint <= Character.MAX_VALUE) {
+            return (WHITESPACE_OR_PUNCTUATION_OR_SYMBOL[codePoint >>> 6] & 1L << codePoint) != 0;
+        }
+        return hasWhitespaceOrPunctuationOrSymbolType(codePoint);
+    }
+
+    private static boolean hasWhitespaceOrPunctuationOrSymbolType(int codePoint) {
+        return (WHITESPACE_OR_PUNCTUATION_OR_SYMBOL_TYPES & 1 << Character.getType(codePoint)) != 0;
+    }
+
+    /**
+     * Whether {@code index} is the start of the text or follows whitespace,
+     * punctuation or a symbol.
+     */
+    static boolean isBoundaryBefore(CharSequence text, int index) {
+        return index == 0 || isWhitespaceOrPunctuationOrSymbol(Character.codePointBefore(text, index));
+    }
+
+    /**
+     * Whether {@code index} is the end of the text or is followed by
+     * whitespace, punctuation or a symbol.
+     */
+    static boolean isBoundaryAfter(CharSequence text, int index) {
+        return index == text.length() || isWhitespaceOrPunctuationOrSymbol(Character.codePointAt(text, index));
+    }
+}
@@ -5,4 +5,5 @@ module io.cucumber.cucumberexpressions {
     exports io.cucumber.cucumberexpressions;
     
     uses io.cucumber.cucumberexpressions.PatternCompiler;
+    uses io.cucumber.cucumberexpressions.ExpressionMetrics;
 }
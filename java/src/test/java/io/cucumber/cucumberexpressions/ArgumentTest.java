@@ -4,23 +4,131 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ArgumentTest {
     @Test
     public void exposes_parameter_type() {
         TreeRegexp treeRegexp = new TreeRegexp("three (.*) mice");
-        Group group = requireNonNull(treeRegexp.match("three blind mice"));
+        GroupMatch groupMatch = requireNonNull(treeRegexp.matchLazily("three blind mice"));
         
         ParameterTypeRegistry parameterTypeRegistry = new ParameterTypeRegistry(Locale.ENGLISH);
         List<ParameterType<?>> parameterTypes = singletonList(parameterTypeRegistry.lookupByTypeName("string"));
         
-        List<Argument<?>> arguments = Argument.build(group, parameterTypes);
+        List<Argument<?>> arguments = Argument.build(groupMatch, parameterTypes);
         Argument<?> argument = arguments.get(0);
         assertEquals("string", argument.getParameterType().getName());
     }
 
+    @Test
+    public void exposes_group() {
+        TreeRegexp treeRegexp = new TreeRegexp("three (b(l)ind) mice");
+        GroupMatch groupMatch = requireNonNull(treeRegexp.matchLazily("three blind mice"));
+
+        ParameterTypeRegistry parameterTypeRegistry = new ParameterTypeRegistry(Locale.ENGLISH);
+        List<ParameterType<?>> parameterTypes = singletonList(parameterTypeRegistry.lookupByTypeName("word"));
+
+        Argument<?> argument = Argument.build(groupMatch, parameterTypes).get(0);
+        Group group = argument.getGroup();
+        assertEquals("blind", group.getValue());
+        assertEquals(6, group.getStart());
+        assertEquals(11, group.getEnd());
+        assertEquals("l", group.getChildren().get().get(0).getValue());
+        assertSame(group, argument.getGroup());
+    }
+
+    @Test
+    public void transforms_value_once() {
+        ParameterTypeRegistry parameterTypeRegistry = new ParameterTypeRegistry(Locale.ENGLISH);
+        AtomicInteger transformations = new AtomicInteger();
+        parameterTypeRegistry.defineParameterType(new ParameterType<>("counted", "\\d+", Integer.class,
+                (String s) -> {
+                    transformations.incrementAndGet();
+                    return Integer.valueOf(s);
+                }));
+        Argument<?> argument = match("{counted}", "42", parameterTypeRegistry);
+
+        assertEquals(42, argument.getValue());
+        assertEquals(42, argument.getValue());
+        assertEquals(1, transformations.get());
+    }
+
+    @Test
+    public void parses_built_in_integers() {
+        assertEquals(42, match("{int}", "42").getInt());
+        assertEquals(-42L, match("{int}", "-42").getLong());
+        assertEquals(Long.MAX_VALUE, match("{long}", String.valueOf(Long.MAX_VALUE)).getLong());
+        assertEquals(Long.MIN_VALUE, match("{long}", String.valueOf(Long.MIN_VALUE)).getLong());
+        assertEquals(127, match("{byte}", "127").getInt());
+        assertEquals(-32768, match("{short}", "-32768").getInt());
+        assertEquals(42.0, match("{int}", "42").getDouble(), 0.0);
+    }
+
+    @Test
+    public void parses_built_in_integers_like_decode() {
+        // A leading zero denotes an octal number
+        assertEquals(8, match("{int}", "010").getInt());
+        assertEquals(-8, match("{int}", "-010").getInt());
+        assertEquals(0, match("{int}", "0").getInt());
+        // Arabic-Indic digits
+        assertEquals(42, match("{int}", "\u0664\u0662").getInt());
+    }
+
+    @Test
+    public void reports_built_in_integers_that_can_not_be_parsed_like_transform() {
+        Argument<?> overflow = match("{byte}", "128");
+        CucumberExpressionException exception = assertThrows(CucumberExpressionException.class, overflow::getInt);
+        assertEquals("ParameterType {byte} failed to transform [128] to class java.lang.Byte", exception.getMessage());
+
+        Argument<?> invalidOctal = match("{int}", "09");
+        assertThrows(CucumberExpressionException.class, invalidOctal::getLong);
+
+        Argument<?> tooLong = match("{long}", "9223372036854775808");
+        assertThrows(CucumberExpressionException.class, tooLong::getDouble);
+    }
+
+    @Test
+    public void converts_other_numbers() {
+        assertEquals(1, match("{double}", "1.5").getInt());
+        assertEquals(1L, match("{float}", "1.5").getLong());
+        assertEquals(1.5, match("{double}", "1.5").getDouble(), 0.0);
+        assertEquals(12L, match("{biginteger}", "12").getLong());
+    }
+
+    @Test
+    public void parses_built_in_decimals_like_transform() {
+        assertEquals(1042.5, match("{double}", "1,042.5").getDouble(), 0.0);
+        assertEquals((double) 0.1f, match("{float}", "0.1").getDouble(), 0.0);
+        assertEquals(0.1, match("{bigdecimal}", "0.1").getDouble(), 0.0);
+        assertEquals(-1.5E-3, match("{double}", "-1.5E-3").getDouble(), 0.0);
+        assertEquals(0, Double.compare(0.0, match("{double}", "-0.0").getDouble()));
+
+        ParameterTypeRegistry german = new ParameterTypeRegistry(Locale.GERMAN);
+        assertEquals(1042.5, match("{double}", "1.042,5", german).getDouble(), 0.0);
+    }
+
+    @Test
+    public void rejects_values_that_are_not_numbers() {
+        Argument<?> argument = match("{word}", "banana");
+        CucumberExpressionException exception = assertThrows(CucumberExpressionException.class, argument::getInt);
+        assertEquals("ParameterType {word} transformed [banana] to banana, which is not a number", exception.getMessage());
+        assertThrows(CucumberExpressionException.class, argument::getLong);
+        assertThrows(CucumberExpressionException.class, argument::getDouble);
+    }
+
+    private static Argument<?> match(String expression, String text) {
+        return match(expression, text, new ParameterTypeRegistry(Locale.ENGLISH));
+    }
+
+    private static Argument<?> match(String expression, String text, ParameterTypeRegistry parameterTypeRegistry) {
+        CucumberExpression cucumberExpression = new CucumberExpression(expression, parameterTypeRegistry);
+        return cucumberExpression.match(text).orElseThrow().get(0);
+    }
+
 }
@@ -4,11 +4,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.shadow.de.siegmar.fastcsv.util.Nullable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 import static java.util.Arrays.asList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class CombinatorialGeneratedExpressionFactoryTest {
 
@@ -46,6 +50,119 @@ public class CombinatorialGeneratedExpressionFactoryTest {
         ), expressions);
     }
 
+    @Test
+    public void generates_expressions_lazily_in_the_same_order() {
+        List<ParameterType<?>> first = new ArrayList<>();
+        first.add(new ParameterType<>("color", WORD, Color.class, Color::new));
+        first.add(new ParameterType<>("csscolor", WORD, CssColor.class, CssColor::new));
+        List<ParameterType<?>> second = new ArrayList<>();
+        second.add(new ParameterType<>("date", WORD, Date.class, Date::new));
+        second.add(new ParameterType<>("datetime", WORD, DateTime.class, DateTime::new));
+        CombinatorialGeneratedExpressionFactory factory = new CombinatorialGeneratedExpressionFactory(
+                "I bought a {%s} ball on {%s}",
+                asList(first, second)
+        );
+
+        Iterator<GeneratedExpression> iterator = factory.iterator();
+        List<String> expressions = new ArrayList<>();
+        while (iterator.hasNext()) {
+            expressions.add(iterator.next().getSource());
+        }
+
+        assertEquals(asList(
+                "I bought a {color} ball on {date}",
+                "I bought a {color} ball on {datetime}",
+                "I bought a {csscolor} ball on {date}",
+                "I bought a {csscolor} ball on {datetime}"
+        ), expressions);
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void generates_no_expressions_when_a_parameter_has_no_parameter_types() {
+        List<ParameterType<?>> first = new ArrayList<>();
+        first.add(new ParameterType<>("color", WORD, Color.class, Color::new));
+        CombinatorialGeneratedExpressionFactory factory = new CombinatorialGeneratedExpressionFactory(
+                "I bought a {%s} ball on {%s}",
+                asList(first, new ArrayList<>())
+        );
+
+        assertEquals(0, factory.stream().count());
+    }
+
+    @Test
+    public void generates_ranked_expressions_by_the_positions_of_their_parameter_types() {
+        List<ParameterType<?>> first = new ArrayList<>();
+        first.add(new ParameterType<>("color", WORD, Color.class, Color::new));
+        first.add(new ParameterType<>("csscolor", WORD, CssColor.class, CssColor::new));
+        first.add(new ParameterType<>("date", WORD, Date.class, Date::new));
+        List<ParameterType<?>> second = new ArrayList<>();
+        second.add(new ParameterType<>("datetime", WORD, DateTime.class, DateTime::new));
+        second.add(new ParameterType<>("timestamp", WORD, Timestamp.class, Timestamp::new));
+        second.add(new ParameterType<>("color", WORD, Color.class, Color::new));
+        CombinatorialGeneratedExpressionFactory factory = new CombinatorialGeneratedExpressionFactory(
+                "{%s} {%s}",
+                asList(first, second)
+        );
+
+        List<String> expressions = new ArrayList<>();
+        for (GeneratedExpression generatedExpression : factory.generateRankedExpressions(7)) {
+            expressions.add(generatedExpression.getSource());
+        }
+
+        assertEquals(asList(
+                "{color} {datetime}",
+                "{color} {timestamp}",
+                "{csscolor} {datetime}",
+                "{color} {color}",
+                "{csscolor} {timestamp}",
+                "{date} {datetime}",
+                "{csscolor} {color}"
+        ), expressions);
+    }
+
+    @Test
+    public void generates_the_same_ranked_expressions_as_sorting_all_expressions() {
+        List<List<ParameterType<?>>> parameterTypeCombinations = new ArrayList<>();
+        int[] sizes = {3, 1, 4, 2};
+        for (int size : sizes) {
+            List<ParameterType<?>> parameterTypes = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                parameterTypes.add(new ParameterType<>("type-" + i, WORD, Color.class, Color::new));
+            }
+            parameterTypeCombinations.add(parameterTypes);
+        }
+        CombinatorialGeneratedExpressionFactory factory = new CombinatorialGeneratedExpressionFactory(
+                "{%s} {%s} {%s} {%s}",
+                parameterTypeCombinations
+        );
+        List<GeneratedExpression> all = new ArrayList<>();
+        factory.iterator().forEachRemaining(all::add);
+        // A stable sort keeps expressions that cost the same in order
+        all.sort(Comparator.comparingInt(generatedExpression -> cost(parameterTypeCombinations, generatedExpression)));
+
+        for (int limit = 0; limit <= all.size() + 1; limit++) {
+            List<String> expected = new ArrayList<>();
+            for (GeneratedExpression generatedExpression : all.subList(0, Math.min(limit, all.size()))) {
+                expected.add(generatedExpression.getSource());
+            }
+            List<String> actual = new ArrayList<>();
+            for (GeneratedExpression generatedExpression : factory.generateRankedExpressions(limit)) {
+                actual.add(generatedExpression.getSource());
+            }
+            assertEquals(expected, actual, "limit " + limit);
+        }
+    }
+
+    private static int cost(List<List<ParameterType<?>>> parameterTypeCombinations, GeneratedExpression generatedExpression) {
+        int cost = 0;
+        List<ParameterType<?>> parameterTypes = generatedExpression.getParameterTypes();
+        for (int i = 0; i < parameterTypes.size(); i++) {
+            cost += parameterTypeCombinations.get(i).indexOf(parameterTypes.get(i));
+        }
+        return cost;
+    }
+
     public static class Color {
         Color(@Nullable String s) {
             assertNotNull(s);
@@ -0,0 +1,204 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CombinedExpressionMatcherTest {
+
+    private final ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+    private final ExpressionFactory factory = new ExpressionFactory(registry);
+
+    @Test
+    void matches_cucumber_and_regular_expressions() {
+        Expression cukes = factory.createExpression("I have {int} cuke(s)");
+        Expression bananas = factory.createExpression("^I have (\\d+) bananas?$");
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(asList(cukes, bananas));
+
+        List<ExpressionMatch> matches = matcher.match("I have 42 bananas");
+
+        assertThat(matches).extracting(ExpressionMatch::getExpression).containsExactly(bananas);
+        assertThat(values(matches.get(0).getArguments())).isEqualTo(asList(42));
+        assertThat(values(matcher.match("I have 7 cukes").get(0).getArguments())).isEqualTo(asList(7));
+        assertThat(matcher.match("I have no cukes")).isEmpty();
+    }
+
+    @Test
+    void finds_all_matching_expressions_in_order() {
+        Expression word = factory.createExpression("I have {word} cukes");
+        Expression integer = factory.createExpression("I have {int} cukes");
+        Expression other = factory.createExpression("I have {int} bananas");
+        Expression anything = factory.createExpression("^I have (.*)$");
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(asList(word, integer, other, anything));
+
+        List<ExpressionMatch> matches = matcher.match("I have 42 cukes");
+
+        assertThat(matches).extracting(ExpressionMatch::getExpression).containsExactly(word, integer, anything);
+        assertThat(matches).extracting(match -> (Object) match.getArguments().get(0).getValue())
+                .containsExactly("42", 42, "42 cukes");
+    }
+
+    @Test
+    void maps_nested_and_unmatched_groups_back_to_expression() {
+        Expression first = factory.createExpression("^a (b)?(c(d))$");
+        Expression second = factory.createExpression("^a (bcd)$");
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(asList(first, second));
+
+        List<ExpressionMatch> matches = matcher.match("a cd");
+
+        assertThat(matches).extracting(ExpressionMatch::getExpression).containsExactly(first);
+        List<Argument<?>> arguments = matches.get(0).getArguments();
+        assertThat(values(arguments)).isEqualTo(values(first.match("a cd").orElseThrow()));
+        assertThat(arguments.get(0).getGroup().getValue()).isNull();
+        assertThat(arguments.get(1).getGroup().getValue()).isEqualTo("cd");
+        assertThat(arguments.get(1).getGroup().getValues()).isEqualTo(singletonList("d"));
+        assertThat(arguments.get(1).getGroup().getStart()).isEqualTo(2);
+    }
+
+    @Test
+    void matches_the_whole_text() {
+        Expression expression = factory.createExpression("^a$");
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(singletonList(expression));
+
+        assertThat(matcher.match("a")).hasSize(1);
+        assertThat(matcher.match("a\n")).isEmpty();
+        assertThat(matcher.match("ab")).isEmpty();
+    }
+
+    @Test
+    void matches_the_same_as_the_expressions() {
+        List<Expression> expressions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expressions.add(factory.createExpression("step " + i + " with {int} and {string}"));
+            expressions.add(factory.createExpression("^step " + i + " with (\\d+) and \"([^\"]*)\"$"));
+        }
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(expressions);
+
+        List<ExpressionMatch> matches = matcher.match("step 123 with 4 and \"five\"");
+
+        assertThat(matches).extracting(ExpressionMatch::getExpression)
+                .containsExactly(expressions.get(246), expressions.get(247));
+        assertThat(values(matches.get(0).getArguments())).isEqualTo(asList(4, "five"));
+        assertThat(values(matches.get(1).getArguments())).isEqualTo(asList(4, "five"));
+    }
+
+    @Test
+    void matches_regexps_that_can_not_be_combined_separately() {
+        Expression backReference = new RegularExpression(Pattern.compile("^(a)\\1$"), registry);
+        Expression namedGroup = new RegularExpression(Pattern.compile("^(?<first>a)a$"), registry);
+        Expression caseInsensitive = new RegularExpression(Pattern.compile("^(A)a$", Pattern.CASE_INSENSITIVE), registry);
+        Expression literal = new RegularExpression(Pattern.compile("aa", Pattern.LITERAL), registry);
+        Expression combinable = factory.createExpression("^(a)a$");
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(
+                asList(backReference, namedGroup, caseInsensitive, literal, combinable));
+
+        List<ExpressionMatch> matches = matcher.match("aa");
+
+        assertThat(matches).extracting(ExpressionMatch::getExpression)
+                .containsExactly(backReference, namedGroup, caseInsensitive, literal, combinable);
+        assertThat(values(matches.get(0).getArguments())).isEqualTo(asList("a"));
+        assertThat(values(matches.get(2).getArguments())).isEqualTo(asList("a"));
+    }
+
+    @Test
+    void matches_other_expressions_separately() {
+        Expression other = new Expression() {
+            @Override
+            public Optional<List<Argument<?>>> match(String text, Type... typeHints) {
+                return text.equals("other") ? Optional.of(new ArrayList<>()) : Optional.empty();
+            }
+
+            @Override
+            public Pattern getRegexp() {
+                return Pattern.compile("other");
+            }
+
+            @Override
+            public String getSource() {
+                return "other";
+            }
+        };
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(singletonList(other));
+
+        assertThat(matcher.match("other")).extracting(ExpressionMatch::getExpression).containsExactly(other);
+        assertThat(matcher.match("another")).isEmpty();
+    }
+
+    @Test
+    void matches_many_texts_at_once() {
+        Expression cukes = factory.createExpression("I have {int} cuke(s)");
+        Expression anything = factory.createExpression("^I have (.*)$");
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(asList(cukes, anything));
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            texts.add("I have " + i + " cukes");
+            texts.add("I have " + i + " bananas");
+        }
+        texts.add("I have 1 cukes");
+        texts.add("You have 1 cuke");
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Map<String, List<ExpressionMatch>> matches;
+        try {
+            matches = matcher.matchAll(texts, executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(matches.size()).isEqualTo(2001);
+        assertThat(new ArrayList<>(matches.keySet()).subList(0, 2)).containsExactly("I have 0 cukes", "I have 0 bananas");
+        for (int i = 0; i < 1000; i++) {
+            List<ExpressionMatch> cukeMatches = matches.get("I have " + i + " cukes");
+            assertThat(cukeMatches).extracting(ExpressionMatch::getExpression).containsExactly(cukes, anything);
+            assertThat(values(cukeMatches.get(0).getArguments())).isEqualTo(asList(i));
+            assertThat(matches.get("I have " + i + " bananas")).extracting(ExpressionMatch::getExpression).containsExactly(anything);
+        }
+        assertThat(matches.get("You have 1 cuke")).isEmpty();
+    }
+
+    @Test
+    void matches_many_texts_the_same_as_one_text() {
+        Expression cukes = factory.createExpression("I have {int} cuke(s)");
+        Expression backReference = factory.createExpression("^I have (\\w+) \\1$");
+        CombinedExpressionMatcher matcher = new CombinedExpressionMatcher(asList(cukes, backReference));
+        List<String> texts = asList("I have 3 cukes", "I have a a", "I have a b", "I have 1 cuke");
+
+        Map<String, List<ExpressionMatch>> matches = matcher.matchAll(texts);
+
+        for (String text : texts) {
+            assertThat(matches.get(text)).extracting(ExpressionMatch::getExpression)
+                    .isEqualTo(matcher.match(text).stream().map(ExpressionMatch::getExpression).toList());
+        }
+    }
+
+    @Test
+    void recognizes_regexps_that_can_be_combined() {
+        assertThat(CombinedExpressionMatcher.isCombinable(Pattern.compile("^(a)(?:b)(?=c)(?<=a)(?<!d)\\\\\\d\\(\\)$"))).isTrue();
+        assertThat(CombinedExpressionMatcher.isCombinable(Pattern.compile("(a)\\1"))).isFalse();
+        assertThat(CombinedExpressionMatcher.isCombinable(Pattern.compile("(?<a>a)\\k<a>"))).isFalse();
+        assertThat(CombinedExpressionMatcher.isCombinable(Pattern.compile("\\Q(a"))).isFalse();
+        assertThat(CombinedExpressionMatcher.isCombinable(Pattern.compile("a # comment", Pattern.COMMENTS))).isFalse();
+    }
+
+    private static List<@Nullable Object> values(List<Argument<?>> arguments) {
+        List<@Nullable Object> values = new ArrayList<>();
+        for (Argument<?> argument : arguments) {
+            values.add(argument.getValue());
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,212 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompiledExpressionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restores_expressions_saved_by_an_earlier_store() throws IOException {
+        Path file = directory.resolve("expressions.bin");
+        List<String> sources = asList("I have {int} cuke(s)", "{} and {string}", "a/b c", "\\(escaped\\) {float}");
+
+        CompiledExpressionStore store = CompiledExpressionStore.open(file);
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), store);
+        List<Expression> compiled = new ArrayList<>();
+        for (String source : sources) {
+            compiled.add(factory.createExpression(source));
+        }
+        store.save();
+
+        CompiledExpressionStore restoredStore = CompiledExpressionStore.open(file);
+        ExpressionFactory restoredFactory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), restoredStore);
+        assertThat(restoredStore.size()).isEqualTo(4);
+        for (int i = 0; i < sources.size(); i++) {
+            Expression restored = restoredFactory.createExpression(sources.get(i));
+            assertThat(restored.getSource()).isEqualTo(sources.get(i));
+            assertThat(restored.getRegexp().pattern()).isEqualTo(compiled.get(i).getRegexp().pattern());
+            assertThat(((CucumberExpression) restored).getAst().toNode())
+                    .isEqualTo(((CucumberExpression) compiled.get(i)).getAst().toNode());
+        }
+        assertThat(restoredStore.getStatistics().getHitCount()).isEqualTo(4);
+
+        Expression cukes = restoredFactory.createExpression("I have {int} cuke(s)");
+        assertThat(values(cukes.match("I have 42 cukes").orElseThrow())).isEqualTo(asList(42));
+        Expression string = restoredFactory.createExpression("{} and {string}");
+        assertThat(values(string.match("this and \"that\"").orElseThrow())).isEqualTo(asList("this", "that"));
+        assertThat(string.match("this and that")).isEmpty();
+    }
+
+    @Test
+    void compiles_expressions_again_when_their_parameter_types_changed() throws IOException {
+        Path file = directory.resolve("expressions.bin");
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        registry.defineParameterType(new ParameterType<>("color", "red|blue", String.class, (@Nullable String arg) -> arg));
+        CompiledExpressionStore store = CompiledExpressionStore.open(file);
+        new ExpressionFactory(registry, store).createExpression("a {color} ball");
+        new ExpressionFactory(registry, store).createExpression("a {int} ball");
+        store.save();
+
+        ParameterTypeRegistry changedRegistry = new ParameterTypeRegistry(Locale.ENGLISH);
+        changedRegistry.defineParameterType(new ParameterType<>("color", "red|green", String.class, (@Nullable String arg) -> arg));
+        CompiledExpressionStore restoredStore = CompiledExpressionStore.open(file);
+        ExpressionFactory factory = new ExpressionFactory(changedRegistry, restoredStore);
+
+        Expression expression = factory.createExpression("a {color} ball");
+        factory.createExpression("a {int} ball");
+
+        assertThat(expression.match("a green ball")).isPresent();
+        CacheStatistics statistics = restoredStore.getStatistics();
+        assertThat(statistics.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getMissCount()).isEqualTo(1);
+        assertThat(statistics.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void restores_expressions_that_are_not_cached() throws IOException {
+        Path file = directory.resolve("expressions.bin");
+        CompiledExpressionStore store = CompiledExpressionStore.open(file);
+        new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), store).createExpression("I have {int} cukes");
+        store.save();
+
+        CompiledExpressionStore restoredStore = CompiledExpressionStore.open(file);
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), 10, restoredStore);
+        Expression expression = factory.createExpression("I have {int} cukes");
+
+        assertThat(factory.createExpression("I have {int} cukes")).isSameAs(expression);
+        assertThat(factory.getCacheStatistics().getHitCount()).isEqualTo(1);
+        assertThat(restoredStore.getStatistics().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void drops_expressions_that_were_not_looked_up() throws IOException {
+        Path file = directory.resolve("expressions.bin");
+        CompiledExpressionStore store = CompiledExpressionStore.open(file);
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), store);
+        factory.createExpression("first {int}");
+        factory.createExpression("second {int}");
+        store.save();
+
+        CompiledExpressionStore restoredStore = CompiledExpressionStore.open(file);
+        ExpressionFactory restoredFactory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), restoredStore);
+        restoredFactory.createExpression("first {int}");
+        restoredFactory.createExpression("third {int}");
+        restoredStore.save();
+
+        CompiledExpressionStore savedStore = CompiledExpressionStore.open(file);
+        assertThat(savedStore.size()).isEqualTo(2);
+        assertThat(savedStore.get("first {int}", new ParameterTypeRegistry(Locale.ENGLISH))).isNotNull();
+        assertThat(savedStore.get("second {int}", new ParameterTypeRegistry(Locale.ENGLISH))).isNull();
+        assertThat(savedStore.get("third {int}", new ParameterTypeRegistry(Locale.ENGLISH))).isNotNull();
+    }
+
+    @Test
+    void drops_all_expressions_when_none_were_looked_up() throws IOException {
+        Path file = directory.resolve("expressions.bin");
+        CompiledExpressionStore store = CompiledExpressionStore.open(file);
+        new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), store).createExpression("I have {int} cukes");
+        store.save();
+
+        CompiledExpressionStore.open(file).save();
+
+        assertThat(CompiledExpressionStore.open(file).size()).isEqualTo(0);
+    }
+
+    @Test
+    void does_not_read_the_file_after_opening_it() throws IOException {
+        Path file = directory.resolve("expressions.bin");
+        CompiledExpressionStore store = CompiledExpressionStore.open(file);
+        new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), store).createExpression("I have {int} cukes");
+        store.save();
+
+        CompiledExpressionStore restoredStore = CompiledExpressionStore.open(file);
+        Files.write(file, new byte[0]);
+        Expression expression = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), restoredStore)
+                .createExpression("I have {int} cukes");
+        restoredStore.save();
+
+        assertThat(expression.match("I have 4 cukes")).isPresent();
+        assertThat(restoredStore.getStatistics().getHitCount()).isEqualTo(1);
+        assertThat(CompiledExpressionStore.open(file).size()).isEqualTo(1);
+    }
+
+    @Test
+    void compiles_expressions_again_when_their_groups_do_not_fit_the_regexp() throws IOException {
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        CucumberExpression expression = (CucumberExpression) new ExpressionFactory(registry).createExpression("I have {int} cukes");
+        String regexp = expression.getRegexp().pattern();
+        GroupBuilder noGroups = new GroupBuilder(0);
+        GroupBuilder outsideRegexp = new GroupBuilder(0);
+        GroupBuilder group = new GroupBuilder(regexp.indexOf('('));
+        group.setEndIndex(regexp.length());
+        outsideRegexp.add(group);
+
+        for (GroupBuilder groupBuilder : asList(noGroups, outsideRegexp)) {
+            CompiledExpressionStore store = CompiledExpressionStore.open(directory.resolve("expressions.bin"));
+            store.put(new CucumberExpression(expression.getSource(), expression.getAst(),
+                    new TreeRegexp(expression.getRegexp(), groupBuilder), expression.getParameterTypes(),
+                    registry, expression.getParameterTypeSnapshot()));
+
+            Expression restored = new ExpressionFactory(registry, store).createExpression("I have {int} cukes");
+
+            assertThat(values(restored.match("I have 4 cukes").orElseThrow())).isEqualTo(asList(4));
+            assertThat(store.getStatistics().getEvictionCount()).isEqualTo(1);
+            assertThat(store.getStatistics().getHitCount()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    void does_not_store_regular_expressions() throws IOException {
+        CompiledExpressionStore store = CompiledExpressionStore.open(directory.resolve("expressions.bin"));
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), store);
+
+        factory.createExpression("^I have (\\d+) cukes$");
+
+        assertThat(store.size()).isEqualTo(0);
+    }
+
+    @Test
+    void ignores_files_it_can_not_read() throws IOException {
+        Path file = directory.resolve("expressions.bin");
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13});
+
+        CompiledExpressionStore store = CompiledExpressionStore.open(file);
+        Expression expression = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), store)
+                .createExpression("I have {int} cukes");
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(expression.match("I have 4 cukes")).isPresent();
+    }
+
+    @Test
+    void starts_empty_without_file() throws IOException {
+        CompiledExpressionStore store = CompiledExpressionStore.open(directory.resolve("missing").resolve("expressions.bin"));
+
+        assertThat(store.size()).isEqualTo(0);
+        store.save();
+        assertThat(Files.exists(directory.resolve("missing").resolve("expressions.bin"))).isTrue();
+    }
+
+    private static List<@Nullable Object> values(List<Argument<?>> arguments) {
+        List<@Nullable Object> values = new ArrayList<>();
+        for (Argument<?> argument : arguments) {
+            values.add(argument.getValue());
+        }
+        return values;
+    }
+
+}
@@ -12,12 +12,14 @@ import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static java.util.Objects.requireNonNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class CucumberExpressionGeneratorTest {
@@ -287,6 +289,78 @@ public class CucumberExpressionGeneratorTest {
         assertEquals(256, generator.generateExpressions("a b c d e f g h i j k").size());
     }
 
+    @Test
+    public void streams_expressions_beyond_256_lazily() {
+        for (int i = 0; i < 4; i++) {
+            ParameterType<String> myType = new ParameterType<>(
+                    "my-type-" + i,
+                    "[a-z]",
+                    String.class,
+                    (@Nullable String arg) -> arg,
+                    true,
+                    false
+            );
+            parameterTypeRegistry.defineParameterType(myType);
+        }
+        String text = "a b c d e f g h i j k";
+
+        List<String> streamed = generator.streamExpressions(text)
+                .limit(1000)
+                .map(GeneratedExpression::getSource)
+                .collect(Collectors.toList());
+
+        assertEquals(1000, streamed.size());
+        List<String> generated = new ArrayList<>();
+        for (GeneratedExpression generatedExpression : generator.generateExpressions(text)) {
+            generated.add(generatedExpression.getSource());
+        }
+        assertEquals(generated, streamed.subList(0, 256));
+        assertEquals("{my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0}", streamed.get(0));
+        assertEquals("{my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-1}", streamed.get(1));
+    }
+
+    @Test
+    public void streams_one_expression_for_text_without_parameters() {
+        List<GeneratedExpression> streamed = generator.streamExpressions("hello").collect(Collectors.toList());
+        assertEquals(1, streamed.size());
+        assertEquals("hello", streamed.get(0).getSource());
+    }
+
+    @Test
+    public void generates_ranked_expressions_changing_one_parameter_type_at_a_time() {
+        for (int i = 0; i < 4; i++) {
+            ParameterType<String> myType = new ParameterType<>(
+                    "my-type-" + i,
+                    "[a-z]",
+                    String.class,
+                    (@Nullable String arg) -> arg,
+                    true,
+                    false
+            );
+            parameterTypeRegistry.defineParameterType(myType);
+        }
+        String text = "a b c d e f g h i j k";
+
+        List<String> ranked = new ArrayList<>();
+        for (GeneratedExpression generatedExpression : generator.generateRankedExpressions(text, 13)) {
+            ranked.add(generatedExpression.getSource());
+        }
+
+        assertEquals(13, ranked.size());
+        assertEquals(generator.generateExpressions(text).get(0).getSource(), ranked.get(0));
+        // Each of the 11 parameters with its second best parameter type,
+        // the last first, then the first with its third best one.
+        assertEquals("{my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-1}", ranked.get(1));
+        assertEquals("{my-type-1} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0}", ranked.get(11));
+        assertEquals("{my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-0} {my-type-2}", ranked.get(12));
+    }
+
+    @Test
+    public void generates_ranked_expressions_up_to_a_non_negative_limit() {
+        assertEquals(emptyList(), generator.generateRankedExpressions("I have 2 cukes", 0));
+        assertThrows(IllegalArgumentException.class, () -> generator.generateRankedExpressions("I have 2 cukes", -1));
+    }
+
     @Test
     public void prefers_expression_with_longest_non_empty_match() {
         ParameterType<String> zeroOrMore = new ParameterType<>(
@@ -314,6 +388,59 @@ public class CucumberExpressionGeneratorTest {
         assertEquals("{zero-or-more} {zero-or-more} {zero-or-more}", generatedExpressions.get(1).getSource());
     }
 
+    @Test
+    public void suggests_parameter_types_again_after_other_parameters() {
+        parameterTypeRegistry.defineParameterType(new ParameterType<>(
+                "color",
+                "red|blue",
+                String.class,
+                (@Nullable String arg) -> arg,
+                true,
+                false
+        ));
+        assertExpression(
+                "I pick {color}, {color} and {int} reds", asList("color", "color2", "int1"),
+                "I pick red, blue and 3 reds");
+    }
+
+    @Test
+    public void suggests_parameter_types_anchored_to_the_start_of_the_text() {
+        parameterTypeRegistry.defineParameterType(new ParameterType<>(
+                "flight",
+                "^[A-Z]{2}\\d+",
+                String.class,
+                (@Nullable String arg) -> arg,
+                true,
+                false
+        ));
+        parameterTypeRegistry.defineParameterType(new ParameterType<>(
+                "color",
+                "red|blue",
+                String.class,
+                (@Nullable String arg) -> arg,
+                true,
+                false
+        ));
+        assertExpression(
+                "{flight} KL456 {color}", asList("flight", "color"),
+                "KL123 KL456 red");
+    }
+
+    @Test
+    public void suggests_parameter_types_next_to_symbols_outside_the_basic_multilingual_plane() {
+        parameterTypeRegistry.defineParameterType(new ParameterType<>(
+                "color",
+                "red|blue",
+                String.class,
+                (@Nullable String arg) -> arg,
+                true,
+                false
+        ));
+        assertExpression(
+                "I pick \uD83C\uDF89{color}\uD83C\uDF89", singletonList("color"),
+                "I pick \uD83C\uDF89red\uD83C\uDF89");
+    }
+
     private void assertExpression(String expectedExpression, List<String> expectedArgumentNames, String text) {
         GeneratedExpression generatedExpression = generator.generateExpressions(text).get(0);
         assertEquals(expectedExpression, generatedExpression.getSource());
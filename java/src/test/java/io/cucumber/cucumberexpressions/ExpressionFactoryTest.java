@@ -3,12 +3,19 @@ package io.cucumber.cucumberexpressions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.IsEqual.equalTo;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class ExpressionFactoryTest {
@@ -76,6 +83,120 @@ public class ExpressionFactoryTest {
         assertThat("Unexpected message", thrownException.getMessage(), is(equalTo("You cannot use anchors (^ or $) in Cucumber Expressions. Please remove them from ^the seller has {int} strike(s)$")));
     }
 
+    @Test
+    public void does_not_cache_expressions_by_default() {
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+        assertNotSame(factory.createExpression("I have {int} cukes"), factory.createExpression("I have {int} cukes"));
+        assertEquals(0, factory.getCacheStatistics().getMissCount());
+    }
+
+    @Test
+    public void caches_expressions_by_source() {
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), 10);
+        Expression expression = factory.createExpression("I have {int} cukes");
+        assertSame(expression, factory.createExpression("I have {int} cukes"));
+        assertNotSame(expression, factory.createExpression("I have {int} bananas"));
+
+        CacheStatistics statistics = factory.getCacheStatistics();
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(0, statistics.getEvictionCount());
+        assertEquals(1.0 / 3, statistics.getHitRate(), 0.0001);
+    }
+
+    @Test
+    public void evicts_least_recently_used_expression() {
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), 2);
+        Expression a = factory.createExpression("a");
+        Expression b = factory.createExpression("b");
+        assertSame(a, factory.createExpression("a"));
+        factory.createExpression("c");
+
+        assertSame(a, factory.createExpression("a"));
+        assertNotSame(b, factory.createExpression("b"));
+        assertEquals(2, factory.getCacheStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void keeps_expressions_when_a_parameter_type_is_defined() {
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        ExpressionFactory factory = new ExpressionFactory(registry, 10);
+        Expression expression = factory.createExpression("I have {int} cukes");
+        Expression regularExpression = factory.createExpression("^I have (red|blue) cukes$");
+        assertThrows(UndefinedParameterTypeException.class, () -> factory.createExpression("a {color} cuke"));
+
+        registry.defineParameterType(new ParameterType<>("color", "red|blue", String.class, (String s) -> s));
+
+        assertSame(expression, factory.createExpression("I have {int} cukes"));
+        assertSame(regularExpression, factory.createExpression("^I have (red|blue) cukes$"));
+        assertEquals("red", regularExpression.match("I have red cukes").get().get(0).getValue());
+        Expression color = factory.createExpression("a {color} cuke");
+        assertEquals("blue", color.match("a blue cuke").get().get(0).getValue());
+        assertEquals(0, factory.getCacheStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void evicts_expressions_when_default_parameter_transformer_changes() {
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        ExpressionFactory factory = new ExpressionFactory(registry, 10);
+        Expression expression = factory.createExpression("I have {int} cukes");
+        Expression anonymous = factory.createExpression("a {} cuke");
+
+        registry.setDefaultParameterTransformer((fromValue, toValueType) -> fromValue);
+
+        assertNotSame(expression, factory.createExpression("I have {int} cukes"));
+        assertNotSame(anonymous, factory.createExpression("a {} cuke"));
+        assertEquals(2, factory.getCacheStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void does_not_cache_invalid_expressions() {
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), 10);
+        assertThrows(UndefinedParameterTypeException.class, () -> factory.createExpression("{color}"));
+        assertThrows(UndefinedParameterTypeException.class, () -> factory.createExpression("{color}"));
+        assertEquals(2, factory.getCacheStatistics().getMissCount());
+    }
+
+    @Test
+    public void rejects_non_positive_cache_size() {
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        assertThrows(IllegalArgumentException.class, () -> new ExpressionFactory(registry, 0));
+    }
+
+    @Test
+    public void creates_each_distinct_expression_once() {
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH), 10);
+        List<String> sources = asList("I have {int} cukes", "^I have (\\d+) cukes$", "I have {int} cukes", "a/b");
+
+        Map<String, Expression> expressions = factory.createExpressions(sources);
+
+        assertEquals(asList("I have {int} cukes", "^I have (\\d+) cukes$", "a/b"), List.copyOf(expressions.keySet()));
+        assertEquals(CucumberExpression.class, expressions.get("I have {int} cukes").getClass());
+        assertEquals(RegularExpression.class, expressions.get("^I have (\\d+) cukes$").getClass());
+        assertEquals(3, factory.getCacheStatistics().getMissCount());
+        assertSame(expressions.get("a/b"), factory.createExpression("a/b"));
+    }
+
+    @Test
+    public void reports_all_expressions_that_could_not_be_created() throws InterruptedException {
+        ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<String> sources = asList("{color}", "I have {int} cukes", "a//b", "^(unclosed$", "{color}");
+
+            ExpressionCompilationException exception = assertThrows(ExpressionCompilationException.class,
+                    () -> factory.createExpressions(sources, executor));
+
+            Map<String, RuntimeException> failures = exception.getFailures();
+            assertEquals(asList("{color}", "a//b", "^(unclosed$"), List.copyOf(failures.keySet()));
+            assertEquals(UndefinedParameterTypeException.class, failures.get("{color}").getClass());
+            assertEquals(CucumberExpressionException.class, failures.get("a//b").getClass());
+            assertEquals(3, exception.getSuppressed().length);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     private void assertRegularExpression(String expressionString) {
         assertRegularExpression(expressionString, expressionString);
     }
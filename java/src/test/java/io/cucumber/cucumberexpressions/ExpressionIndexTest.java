@@ -0,0 +1,106 @@
+package io.cucumber.cucumberexpressions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpressionIndexTest {
+
+    private final ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
+
+    @Test
+    void returns_only_expressions_with_matching_literal_words() {
+        Expression cukes = factory.createExpression("I have {int} cukes in my belly");
+        Expression bananas = factory.createExpression("I have {int} bananas");
+        ExpressionIndex index = new ExpressionIndex(asList(cukes, bananas));
+
+        assertThat(index.candidates("I have 42 cukes in my belly")).containsExactly(cukes);
+        assertThat(index.candidates("I have 42 bananas")).containsExactly(bananas);
+        assertThat(index.candidates("I have 42 apples")).isEmpty();
+    }
+
+    @Test
+    void always_returns_expressions_without_literal_words() {
+        Expression parameterOnly = factory.createExpression("{int}");
+        Expression optionalOnly = factory.createExpression("(a )cuke(s)");
+        Expression regularExpression = factory.createExpression("^I have (\\d+) cukes$");
+        ExpressionIndex index = new ExpressionIndex(asList(parameterOnly, optionalOnly, regularExpression));
+
+        assertThat(index.candidates("anything")).containsExactly(parameterOnly, optionalOnly, regularExpression);
+    }
+
+    @Test
+    void always_returns_expressions_compiled_case_insensitively() {
+        PatternCompilerProvider.service = (regexp, flags) -> Pattern.compile(regexp, flags | Pattern.CASE_INSENSITIVE);
+        try {
+            Expression cukes = factory.createExpression("I have {int} cukes");
+            Expression bananas = factory.createExpression("I have {int} bananas");
+            ExpressionIndex index = new ExpressionIndex(asList(cukes, bananas));
+
+            assertThat(index.candidates("i have 5 CUKES")).containsExactly(cukes, bananas);
+            List<ExpressionMatch> matches = index.match("i have 5 CUKES");
+            assertThat(matches).hasSize(1);
+            assertThat(matches.get(0).getExpression()).isSameAs(cukes);
+        } finally {
+            PatternCompilerProvider.service = null;
+        }
+    }
+
+    @Test
+    void does_not_index_words_adjacent_to_parameters_optionals_or_alternations() {
+        Expression parameter = factory.createExpression("{int}cukes");
+        Expression optional = factory.createExpression("cuke(s) are green");
+        Expression alternation = factory.createExpression("cuke/banana split");
+
+        assertThat(new ExpressionIndex(asList(parameter)).candidates("42cukes")).containsExactly(parameter);
+        assertThat(new ExpressionIndex(asList(optional)).candidates("cukes are green")).containsExactly(optional);
+        assertThat(new ExpressionIndex(asList(alternation)).candidates("banana split")).containsExactly(alternation);
+    }
+
+    @Test
+    void indexes_escaped_whitespace_as_part_of_a_word() {
+        Expression expression = factory.createExpression("three blind\\ mice");
+        ExpressionIndex index = new ExpressionIndex(asList(expression));
+
+        assertThat(index.candidates("three blind mice")).containsExactly(expression);
+        assertThat(index.candidates("blind mice")).isEmpty();
+    }
+
+    @Test
+    void matches_single_expression() {
+        Expression cukes = factory.createExpression("I have {int} cukes");
+        Expression bananas = factory.createExpression("I have {int} bananas");
+        ExpressionIndex index = new ExpressionIndex(asList(cukes, bananas));
+
+        List<ExpressionMatch> matches = index.match("I have 42 cukes");
+
+        assertThat(matches).hasSize(1);
+        assertThat(matches.get(0).getExpression()).isSameAs(cukes);
+        assertThat(matches.get(0).getArguments().get(0).getValue()).isEqualTo(42);
+    }
+
+    @Test
+    void matches_ambiguous_expressions_in_index_order() {
+        Expression integer = factory.createExpression("I have {int} cukes");
+        Expression word = factory.createExpression("I have {word} cukes");
+        Expression other = factory.createExpression("I have {int} bananas");
+        ExpressionIndex index = new ExpressionIndex(asList(integer, other, word));
+
+        List<ExpressionMatch> matches = index.match("I have 42 cukes");
+
+        assertThat(matches).extracting(ExpressionMatch::getExpression).containsExactly(integer, word);
+    }
+
+    @Test
+    void does_not_match_candidates_that_do_not_match() {
+        Expression expression = factory.createExpression("I have {int} cukes");
+        ExpressionIndex index = new ExpressionIndex(asList(expression));
+
+        assertThat(index.match("I have many cukes")).isEmpty();
+    }
+}
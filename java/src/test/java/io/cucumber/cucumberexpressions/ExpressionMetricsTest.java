@@ -0,0 +1,153 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpressionMetricsTest {
+
+    private final RecordingMetrics metrics = new RecordingMetrics();
+    private final ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+    private final ExpressionFactory factory = new ExpressionFactory(registry);
+
+    @BeforeEach
+    void setUp() {
+        ExpressionMetricsProvider.service = metrics;
+    }
+
+    @AfterEach
+    void tearDown() {
+        ExpressionMetricsProvider.service = null;
+    }
+
+    @Test
+    void measures_nothing_if_none_registered() {
+        ExpressionMetricsProvider.service = null;
+
+        assertThat(ExpressionMetricsProvider.getMetrics()).isNull();
+    }
+
+    @Test
+    void use_found_metrics_if_one_provided() {
+        ExpressionMetrics found = ExpressionMetricsProvider.findMetrics(Collections.<ExpressionMetrics>singletonList(metrics).iterator());
+
+        assertThat(found).isSameAs(metrics);
+    }
+
+    @Test
+    void throws_error_if_more_than_one_metrics() {
+        var exception = assertThrows(IllegalStateException.class,
+                () -> ExpressionMetricsProvider.findMetrics(Arrays.<ExpressionMetrics>asList(metrics, new RecordingMetrics()).iterator()));
+
+        assertThat(exception).hasMessage("More than one ExpressionMetrics: [class io.cucumber.cucumberexpressions.ExpressionMetricsTest$RecordingMetrics, class io.cucumber.cucumberexpressions.ExpressionMetricsTest$RecordingMetrics]");
+    }
+
+    @Test
+    void reports_compiling_and_matching_cucumber_expressions() {
+        Expression expression = factory.createExpression("I have {int} cukes");
+        expression.match("I have 42 cukes");
+        expression.match("I have many cukes");
+        expression.match("You have no bananas");
+
+        assertThat(metrics.events).containsExactly(
+                "parsed I have {int} cukes",
+                "compiled I have {int} cukes",
+                "regexp ^I have ((?:-?\\d+)|(?:\\d+)) cukes$ true",
+                "matched I have {int} cukes true",
+                "regexp ^I have ((?:-?\\d+)|(?:\\d+)) cukes$ false",
+                "matched I have {int} cukes false",
+                // Rejected without running the regexp
+                "matched I have {int} cukes false");
+    }
+
+    @Test
+    void reports_compiling_and_matching_regular_expressions() {
+        Expression expression = factory.createExpression("^I have (\\d+) cukes$");
+        expression.match("I have 42 cukes");
+
+        assertThat(metrics.events).containsExactly(
+                "compiled ^I have (\\d+) cukes$",
+                "regexp ^I have (\\d+) cukes$ true",
+                "matched ^I have (\\d+) cukes$ true");
+    }
+
+    @Test
+    void reports_transforms_by_parameter_type() {
+        registry.defineParameterType(new ParameterType<>("color", "red|blue", String.class, (@Nullable String s) -> {
+            throw new IllegalArgumentException("No colors today");
+        }));
+        List<Argument<?>> arguments = factory.createExpression("{int} {color} cukes").match("42 red cukes").orElseThrow();
+        metrics.events.clear();
+
+        arguments.get(0).getValue();
+        assertThrows(CucumberExpressionException.class, () -> arguments.get(1).getValue());
+
+        assertThat(metrics.events).containsExactly(
+                "transformed int null",
+                "transformed color No colors today");
+    }
+
+    @Test
+    void reports_transforms_of_capture_groups_without_parameter_type() {
+        List<Argument<?>> arguments = factory.createExpression("^I have (many|few) cukes$").match("I have many cukes").orElseThrow();
+        metrics.events.clear();
+
+        arguments.get(0).getValue();
+
+        assertThat(metrics.events).containsExactly("transformed anonymous null");
+    }
+
+    @Test
+    void reports_generating_expressions() {
+        new CucumberExpressionGenerator(registry).generateExpressions("I have 42 cukes");
+
+        assertThat(metrics.events).containsExactly("generated I have 42 cukes");
+    }
+
+    @NullMarked
+    private static final class RecordingMetrics implements ExpressionMetrics {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void expressionParsed(String expression, long nanos) {
+            events.add("parsed " + expression);
+        }
+
+        @Override
+        public void expressionCompiled(String expression, long nanos) {
+            events.add("compiled " + expression);
+        }
+
+        @Override
+        public void expressionMatched(String expression, boolean matched, long nanos) {
+            events.add("matched " + expression + " " + matched);
+        }
+
+        @Override
+        public void regexpMatched(String regexp, boolean matched, long nanos) {
+            events.add("regexp " + regexp + " " + matched);
+        }
+
+        @Override
+        public void parameterTransformed(String parameterTypeName, long nanos, @Nullable Throwable failure) {
+            events.add("transformed " + parameterTypeName + " " + (failure == null ? null : failure.getMessage()));
+        }
+
+        @Override
+        public void expressionsGenerated(String text, long nanos) {
+            events.add("generated " + text);
+        }
+    }
+
+}
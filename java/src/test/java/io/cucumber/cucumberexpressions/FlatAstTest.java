@@ -0,0 +1,83 @@
+package io.cucumber.cucumberexpressions;
+
+import org.junit.jupiter.api.Test;
+
+import static io.cucumber.cucumberexpressions.FlatAst.NONE;
+import static io.cucumber.cucumberexpressions.Node.Type.ALTERNATION_NODE;
+import static io.cucumber.cucumberexpressions.Node.Type.ALTERNATIVE_NODE;
+import static io.cucumber.cucumberexpressions.Node.Type.EXPRESSION_NODE;
+import static io.cucumber.cucumberexpressions.Node.Type.OPTIONAL_NODE;
+import static io.cucumber.cucumberexpressions.Node.Type.PARAMETER_NODE;
+import static io.cucumber.cucumberexpressions.Node.Type.TEXT_NODE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlatAstTest {
+
+    private final CucumberExpressionParser parser = new CucumberExpressionParser();
+
+    @Test
+    void stores_nodes_in_pre_order() {
+        FlatAst ast = parser.parseFlat("I have {int} cuke(s)");
+
+        assertThat(ast.size()).isEqualTo(11);
+        assertThat(ast.type(0)).isEqualTo(EXPRESSION_NODE);
+        assertThat(ast.firstChild(0)).isEqualTo(1);
+        assertThat(ast.nextSibling(0)).isEqualTo(NONE);
+
+        assertThat(ast.type(5)).isEqualTo(PARAMETER_NODE);
+        assertThat(ast.start(5)).isEqualTo(7);
+        assertThat(ast.end(5)).isEqualTo(12);
+        assertThat(ast.token(5)).isNull();
+        assertThat(ast.text(5)).isEqualTo("int");
+        assertThat(ast.firstChild(5)).isEqualTo(6);
+        assertThat(ast.nextSibling(5)).isEqualTo(7);
+
+        assertThat(ast.type(9)).isEqualTo(OPTIONAL_NODE);
+        assertThat(ast.text(9)).isEqualTo("s");
+        assertThat(ast.type(10)).isEqualTo(TEXT_NODE);
+        assertThat(ast.token(10)).isEqualTo("s");
+        assertThat(ast.firstChild(10)).isEqualTo(NONE);
+        assertThat(ast.nextSibling(10)).isEqualTo(NONE);
+    }
+
+    @Test
+    void groups_alternatives_without_separators() {
+        FlatAst ast = parser.parseFlat("a/b(c)/d");
+
+        int alternation = ast.firstChild(0);
+        assertThat(ast.type(alternation)).isEqualTo(ALTERNATION_NODE);
+        int first = ast.firstChild(alternation);
+        int second = ast.nextSibling(first);
+        int third = ast.nextSibling(second);
+        assertThat(asList(ast.type(first), ast.type(second), ast.type(third)))
+                .isEqualTo(asList(ALTERNATIVE_NODE, ALTERNATIVE_NODE, ALTERNATIVE_NODE));
+        assertThat(ast.nextSibling(third)).isEqualTo(NONE);
+        assertThat(asList(ast.text(first), ast.text(second), ast.text(third)))
+                .isEqualTo(asList("a", "bc", "d"));
+        assertThat(ast.start(second)).isEqualTo(2);
+        assertThat(ast.end(second)).isEqualTo(6);
+        // Expression, alternation, 3 alternatives, a, b, optional, c, d
+        assertThat(ast.size()).isEqualTo(10);
+    }
+
+    @Test
+    void leaves_out_nodes_of_abandoned_alternations() {
+        FlatAst ast = parser.parseFlat("a (b) {int}");
+
+        assertThat(ast.size()).isEqualTo(8);
+        for (int node = ast.firstChild(0); node != NONE; node = ast.nextSibling(node)) {
+            assertThat(ast.type(node)).isNotEqualTo(ALTERNATION_NODE);
+        }
+    }
+
+    @Test
+    void creates_nodes_on_demand() {
+        FlatAst ast = parser.parseFlat("I have {int} cuke(s)");
+
+        assertThat(ast.toNode(5)).isEqualTo(new Node(PARAMETER_NODE, 7, 12, singletonList(new Node(TEXT_NODE, 8, 11, "int"))));
+        assertThat(ast.toNode()).isEqualTo(parser.parse("I have {int} cuke(s)"));
+    }
+
+}
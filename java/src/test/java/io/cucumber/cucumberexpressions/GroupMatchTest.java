@@ -0,0 +1,66 @@
+package io.cucumber.cucumberexpressions;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GroupMatchTest {
+
+    @Test
+    void exposes_child_group_indexes_in_capture_group_order() {
+        TreeRegexp tr = new TreeRegexp("(a(b(c))(d))(e)");
+        GroupMatch match = requireNonNull(tr.matchLazily("abcde"));
+
+        assertArrayEquals(new int[]{1, 5}, match.getChildGroupIndexes(0));
+        assertArrayEquals(new int[]{2, 4}, match.getChildGroupIndexes(1));
+        assertArrayEquals(new int[]{3}, match.getChildGroupIndexes(2));
+        assertArrayEquals(new int[0], match.getChildGroupIndexes(3));
+        assertEquals("bc", match.getValue(2));
+        assertEquals(4, match.getStart(5));
+        assertEquals(5, match.getEnd(5));
+    }
+
+    @Test
+    void skips_non_capturing_groups() {
+        TreeRegexp tr = new TreeRegexp("(?:a(b))(c)");
+        GroupMatch match = requireNonNull(tr.matchLazily("abc"));
+
+        assertArrayEquals(new int[]{1, 2}, match.getChildGroupIndexes(0));
+        assertEquals("c", match.getValue(2));
+    }
+
+    @Test
+    void values_of_group_without_children_is_its_own_value() {
+        TreeRegexp tr = new TreeRegexp("(a)(b)");
+        GroupMatch match = requireNonNull(tr.matchLazily("ab"));
+
+        assertEquals(singletonList("a"), match.getValues(1));
+    }
+
+    @Test
+    void values_of_group_with_children_are_the_child_values() {
+        TreeRegexp tr = new TreeRegexp("(([A-Z]+)?(?: )?([0-9]+)?)");
+        GroupMatch match = requireNonNull(tr.matchLazily("TLA"));
+
+        assertEquals(asList("TLA", null), match.getValues(1));
+        assertNull(match.getValue(3));
+        assertEquals(-1, match.getStart(3));
+    }
+
+    @Test
+    void creates_group_tree() {
+        TreeRegexp tr = new TreeRegexp("(a(b(c))(d))");
+        GroupMatch match = requireNonNull(tr.matchLazily("abcd"));
+
+        Group group = match.toGroup(1);
+        assertEquals("abcd", group.getValue());
+        assertEquals("bc", group.getChildren().get().get(0).getValue());
+        assertEquals("d", group.getChildren().get().get(1).getValue());
+        assertEquals(asList("bc", "d"), group.getValues());
+    }
+}
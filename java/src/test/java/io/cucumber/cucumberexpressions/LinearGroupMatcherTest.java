@@ -0,0 +1,234 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LinearGroupMatcherTest {
+
+    private static final List<String> TEXTS = asList(
+            "",
+            "a",
+            "42",
+            "-42",
+            "+1.5E-3",
+            "1,000.25",
+            "\"",
+            "\"hello\"",
+            "\"say \\\"hi\\\"\"",
+            "'it\\'s'",
+            "\"unterminated",
+            "two words",
+            "line\n",
+            "line\r\n",
+            "é😀 café",
+            " "
+    );
+
+    @Test
+    void matches_the_same_as_java_util_regex() {
+        List<String> regexps = asList(
+                "^((?:-?\\d+)|(?:\\d+))$",
+                "^([-+]?(?:\\d+(?:[,]\\d+)*(?:[.]\\d+)?|[.]\\d+)(?:[E][-+]?\\d+)?)$",
+                "^((?:\"([^\"\\\\]*(\\\\.[^\"\\\\]*)*)\")|(?:'([^'\\\\]*(\\\\.[^'\\\\]*)*)'))$",
+                "^([^\\s]+)$",
+                "^(.*)$",
+                "^(\\w+)(?: (\\w+))?$",
+                "^a?b??(c)*?$",
+                "^(?:(a)|(b)|)$",
+                "^(\\D\\S\\W){1,2}$",
+                "^[a-c\\d-]{2,}$"
+        );
+        for (String regexp : regexps) {
+            for (int flags : new int[]{0, Pattern.UNICODE_CHARACTER_CLASS, Pattern.DOTALL}) {
+                Pattern pattern = Pattern.compile(regexp, flags);
+                GroupMatcher expected = new PatternGroupMatcher(pattern);
+                LinearGroupMatcher matcher = LinearRegexCompiler.compile(pattern, expected);
+                assertNotNull(matcher, regexp);
+                for (String text : TEXTS) {
+                    assertArrayEquals(expected.match(text), matcher.match(text), regexp + " on " + text);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matches_predefined_character_classes_the_same_as_java_util_regex() {
+        for (String regexp : asList("\\d", "\\D", "\\s", "\\S", "\\w", "\\W", ".", "[^\\s\\d]")) {
+            for (int flags : new int[]{0, Pattern.UNICODE_CHARACTER_CLASS, Pattern.DOTALL}) {
+                Pattern pattern = Pattern.compile(regexp, flags);
+                GroupMatcher matcher = requireNonNull(LinearRegexCompiler.compile(pattern, new PatternGroupMatcher(pattern)));
+                for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint += codePoint < 0x10000 ? 1 : 97) {
+                    String text = new String(Character.toChars(codePoint));
+                    boolean expected = pattern.matcher(text).matches();
+                    assertEquals(expected, matcher.match(text) != null, regexp + " on U+" + Integer.toHexString(codePoint));
+                }
+            }
+        }
+    }
+
+    @Test
+    void matches_groups_inside_quantifiers_the_same_as_java_util_regex() {
+        List<String> regexps = asList(
+                "^(?:(a))*(a\\w)$",
+                "^a(?:([ab]){1,2}){1,2}$",
+                "^(?:[ab]*(\\w){1,2}\\w*?)+$",
+                "^(?:(a)|(b))+?b*$",
+                "^((a)b)*$",
+                "^(?:(a)b)?(a\\w)$",
+                "^(?:x(a)?)*$",
+                "^(a)*(\\w)$"
+        );
+        List<String> texts = asList("", "a", "ab", "aa", "aab", "abab", "aaaa", "aaabb", "cca", "xax", "xaxa");
+        for (String regexp : regexps) {
+            Pattern pattern = Pattern.compile(regexp);
+            GroupMatcher expected = new PatternGroupMatcher(pattern);
+            LinearGroupMatcher linear = LinearRegexCompiler.compile(pattern, expected);
+            GroupMatcher matcher = linear == null ? expected : linear;
+            for (String text : texts) {
+                assertArrayEquals(expected.match(text), matcher.match(text), regexp + " on " + text);
+            }
+        }
+        Pattern optional = Pattern.compile("^(?:(a)b)?(a\\w)$");
+        assertNotNull(LinearRegexCompiler.compile(optional, new PatternGroupMatcher(optional)));
+    }
+
+    @Test
+    void does_not_compile_unsupported_patterns() {
+        List<String> regexps = asList(
+                "(a)\\1",
+                "(?<name>a)",
+                "(?=a)a",
+                "a++",
+                "(a*)*",
+                "((a)b)+",
+                "(?:(a))*",
+                "(?:(a)b){2}",
+                "[a[b]]",
+                "[a&&b]",
+                "\\p{L}",
+                "\\bword\\b"
+        );
+        for (String regexp : regexps) {
+            Pattern pattern = Pattern.compile(regexp);
+            assertNull(LinearRegexCompiler.compile(pattern, new PatternGroupMatcher(pattern)), regexp);
+        }
+        Pattern caseInsensitive = Pattern.compile("a", Pattern.CASE_INSENSITIVE);
+        assertNull(LinearRegexCompiler.compile(caseInsensitive, new PatternGroupMatcher(caseInsensitive)));
+    }
+
+    @Test
+    void creates_linear_matcher_for_cucumber_expressions() {
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        CucumberExpression expression = new CucumberExpression("I have {int} cuke(s) and {string} or {float} {word}", registry);
+
+        assertEquals(LinearGroupMatcher.class, GroupMatcher.create(expression.getRegexp()).getClass());
+        assertEquals(PatternGroupMatcher.class, GroupMatcher.create(Pattern.compile("(a)\\1")).getClass());
+    }
+
+    @Test
+    void matches_pathological_text_in_linear_time() {
+        Pattern string = Pattern.compile("^\"([^\"\\\\]*(\\\\.[^\"\\\\]*)*)\"$");
+        Pattern digits = Pattern.compile("^(\\d+)*$");
+        String unterminated = "\"" + "\\a".repeat(10_000);
+        String notDigits = "1".repeat(10_000) + "x";
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            assertNull(GroupMatcher.create(string).match(unterminated));
+            assertNull(GroupMatcher.create(digits).match(notDigits));
+        });
+    }
+
+    @Test
+    void uses_fallback_for_texts_too_long_to_match_in_linear_time() {
+        Pattern pattern = Pattern.compile("(a{1000})*");
+        AtomicInteger fallbackCalls = new AtomicInteger();
+        GroupMatcher fallback = new GroupMatcher() {
+            @Override
+            public int @Nullable [] match(CharSequence text) {
+                fallbackCalls.incrementAndGet();
+                return null;
+            }
+        };
+        LinearGroupMatcher matcher = requireNonNull(LinearRegexCompiler.compile(pattern, fallback));
+
+        assertNotNull(matcher.match("a".repeat(1000)));
+        assertEquals(0, fallbackCalls.get());
+        assertNull(matcher.match("a".repeat(100_000)));
+        assertEquals(1, fallbackCalls.get());
+    }
+
+    @Test
+    void reuses_memory_between_texts_of_different_lengths() {
+        Pattern pattern = Pattern.compile("^(\\w+) (\\d+)$");
+        GroupMatcher expected = new PatternGroupMatcher(pattern);
+        GroupMatcher actual = requireNonNull(LinearRegexCompiler.compile(pattern, expected));
+        List<String> texts = asList("a 1", "a much longer text without digits", "b 2", "word 42", "x", "longer 123456789");
+        for (int round = 0; round < 2; round++) {
+            for (String text : texts) {
+                assertArrayEquals(expected.match(text), actual.match(text), text);
+            }
+        }
+    }
+
+    @Test
+    void matches_on_many_threads_at_once() throws Exception {
+        Pattern pattern = Pattern.compile("^(\\w+) has (\\d+) cukes?$");
+        List<GroupMatcher> matchers = asList(
+                new PatternGroupMatcher(pattern),
+                requireNonNull(LinearRegexCompiler.compile(pattern, new PatternGroupMatcher(pattern))));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                int offset = thread;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        String name = "n" + (i + offset);
+                        String text = name + " has " + i + " cukes";
+                        for (GroupMatcher matcher : matchers) {
+                            int[] bounds = requireNonNull(matcher.match(text));
+                            assertEquals(name, text.substring(bounds[2], bounds[3]));
+                            assertEquals(String.valueOf(i), text.substring(bounds[4], bounds[5]));
+                            assertNull(matcher.match(name + " has no cukes"));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void matches_end_before_final_line_terminator() {
+        assertTrue(LinearGroupMatcher.isEnd("a", 1));
+        assertTrue(LinearGroupMatcher.isEnd("a\n", 1));
+        assertTrue(LinearGroupMatcher.isEnd("a\r\n", 1));
+        assertFalse(LinearGroupMatcher.isEnd("a\r\n", 2));
+        assertFalse(LinearGroupMatcher.isEnd("ab", 1));
+    }
+
+}
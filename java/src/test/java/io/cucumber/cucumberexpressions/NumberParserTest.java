@@ -4,7 +4,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnJre;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static java.util.Locale.forLanguageTag;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -95,6 +100,60 @@ class NumberParserTest {
         assertEquals(1500.0, english.parseDouble("+1.5E+3"), 0);
     }
 
+    @Test
+    void can_parse_many_significant_digits() {
+        assertEquals(Double.parseDouble("12345678901234567890.123456789"), english.parseDouble("12,345,678,901,234,567,890.123456789"), 0);
+        assertEquals(Float.parseFloat("16777217"), english.parseFloat("16777217"), 0);
+        assertEquals(Double.parseDouble("9007199254740993"), english.parseDouble("9007199254740993"), 0);
+        assertEquals(Double.parseDouble("4.9E-324"), english.parseDouble("4.9E-324"), 0);
+        assertEquals(Double.POSITIVE_INFINITY, english.parseDouble("1E400"), 0);
+    }
+
+    @Test
+    void keeps_the_scale_of_big_decimals() {
+        assertEquals(new BigDecimal("1.50"), english.parseBigDecimal("1.50"));
+        assertEquals(new BigDecimal("0.000"), german.parseBigDecimal("-0,000"));
+        assertEquals(new BigDecimal("1.50E+3"), english.parseBigDecimal("1.50E3"));
+    }
+
+    @Test
+    void parses_zero_without_sign() {
+        assertEquals(0, Double.compare(0.0, english.parseDouble("-0.0")));
+        assertEquals(0, Float.compare(0.0f, english.parseFloat("-0")));
+    }
+
+    @Test
+    void parses_leniently_like_decimal_format() {
+        assertEquals(12.0, english.parseDouble("12abc"), 0);
+        assertEquals(new BigDecimal("1234"), german.parseBigDecimal("1.2.3.4"));
+    }
+
+    @Test
+    void can_parse_part_of_a_text() {
+        String text = "I have 1,042.5 cukes";
+        assertEquals(1042.5, english.parseDouble(text, 7, 14), 0);
+        assertEquals(1042.5f, english.parseFloat(text, 7, 14), 0);
+        assertEquals(1042.0, english.parseDouble(text, 7, 12), 0);
+        assertEquals(-15.0, german.parseDouble("x-1,5E1x", 1, 7), 0);
+    }
+
+    @Test
+    void can_parse_concurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<BigDecimal>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String number = "1.042," + i + "x";
+                results.add(executor.submit(() -> german.parseBigDecimal(number)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(new BigDecimal("1042." + i), results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     @DisabledOnJre(versions = 17, disabledReason = "Locale information on JDK 17 uses lower case e for exponents")
     void can_parse_exponents_canadian() {
@@ -5,10 +5,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static io.cucumber.cucumberexpressions.Assertions.asserThatSingleArgumentValue;
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -98,6 +105,53 @@ public class ParameterTypeRegistryTest {
         assertThat(exception).hasMessage("The anonymous parameter type has already been defined");
     }
 
+    @Test
+    public void does_not_define_parameter_type_partially_when_definition_fails() {
+        registry.defineParameterType(new ParameterType<>("name", CAPITALISED_WORD, Name.class, Name::new, false, true));
+        var place = new ParameterType<>("place", asList("[a-z]+", CAPITALISED_WORD), Place.class, Place::new, false, true);
+
+        assertThrows(CucumberExpressionException.class, () -> registry.defineParameterType(place));
+
+        assertThat((ParameterType<?>) registry.lookupByTypeName("place")).isNull();
+        assertThat((ParameterType<?>) registry.lookupByRegexp("[a-z]+", Pattern.compile("([a-z]+)"), "lisa")).isNull();
+    }
+
+    @Test
+    public void defines_and_looks_up_parameter_types_concurrently() throws Exception {
+        int threads = 4;
+        int parameterTypesPerThread = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < parameterTypesPerThread; i++) {
+                        String name = "type" + thread + "_" + i;
+                        registry.defineParameterType(new ParameterType<>(name, name, String.class, (@Nullable String arg) -> arg));
+                        assertThat((ParameterType<?>) registry.lookupByTypeName(name)).isNotNull();
+                        assertThat((ParameterType<?>) registry.lookupByTypeName("int")).isNotNull();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < parameterTypesPerThread; i++) {
+                assertThat((ParameterType<?>) registry.lookupByTypeName("type" + t + "_" + i)).isNotNull();
+            }
+        }
+    }
+
     @Test
     public void parse_decimal_numbers_in_english() {
         ExpressionFactory factory = new ExpressionFactory(new ParameterTypeRegistry(Locale.ENGLISH));
@@ -0,0 +1,73 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParameterTypeSnapshotTest {
+
+    private final ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+
+    @Test
+    void rewrites_parameter_type_with_single_regexp_to_capture_group() {
+        CompiledParameterType word = requireNonNull(registry.getSnapshot().lookupByTypeName("word"));
+
+        assertThat(word.getRegexpFragment()).isEqualTo("([^\\s]+)");
+    }
+
+    @Test
+    void rewrites_parameter_type_with_multiple_regexps_to_alternation() {
+        CompiledParameterType integer = requireNonNull(registry.getSnapshot().lookupByTypeName("int"));
+
+        assertThat(integer.getRegexpFragment()).isEqualTo("((?:-?\\d+)|(?:\\d+))");
+    }
+
+    @Test
+    void compiles_capture_group_patterns_once() {
+        CompiledParameterType integer = requireNonNull(registry.getSnapshot().lookupByTypeName("int"));
+
+        List<Pattern> patterns = integer.getCaptureGroupPatterns();
+
+        assertThat(patterns).extracting(Pattern::pattern).containsExactly("(-?\\d+)", "(\\d+)");
+        assertThat(integer.getCaptureGroupPatterns()).isSameAs(patterns);
+    }
+
+    @Test
+    void defining_a_parameter_type_does_not_change_an_earlier_snapshot() {
+        ParameterTypeSnapshot before = registry.getSnapshot();
+
+        registry.defineParameterType(new ParameterType<>("color", "red|blue", String.class, (@Nullable String arg) -> arg));
+        ParameterTypeSnapshot after = registry.getSnapshot();
+
+        assertThat(before.lookupByTypeName("color")).isNull();
+        assertThat(before.lookupByRegexp("red|blue")).isNull();
+        assertThat(after.lookupByTypeName("color")).isNotNull();
+        assertThat(after.lookupByRegexp("red|blue")).hasSize(1);
+    }
+
+    @Test
+    void reuses_compiled_parameter_types_of_earlier_snapshots() {
+        CompiledParameterType before = requireNonNull(registry.getSnapshot().lookupByTypeName("int"));
+
+        registry.defineParameterType(new ParameterType<>("color", "red|blue", String.class, (@Nullable String arg) -> arg));
+
+        assertThat(registry.getSnapshot().lookupByTypeName("int")).isSameAs(before);
+    }
+
+    @Test
+    void only_uses_parameter_types_for_snippets_when_requested() {
+        registry.defineParameterType(new ParameterType<>("color", asList("red", "blue"), String.class, (@Nullable String arg) -> arg, false, false));
+
+        assertThat(registry.getSnapshot().getSnippetParameterTypes())
+                .extracting(compiled -> compiled.getParameterType().getName())
+                .containsExactlyInAnyOrder("int", "double", "string");
+    }
+
+}
@@ -0,0 +1,87 @@
+package io.cucumber.cucumberexpressions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequiredLiteralsTest {
+
+    private static RequiredLiterals requiredLiterals(String expression) {
+        return requiredLiterals(expression, 0);
+    }
+
+    private static RequiredLiterals requiredLiterals(String expression, int flags) {
+        FlatAst ast = new CucumberExpressionParser().parseFlat(expression);
+        return RequiredLiterals.of(ast, Pattern.compile("", flags));
+    }
+
+    @Test
+    void requires_prefix_and_suffix() {
+        RequiredLiterals literals = requiredLiterals("I have {int} cukes");
+
+        assertThat(literals.mayMatch("I have 42 cukes")).isTrue();
+        assertThat(literals.mayMatch("You have 42 cukes")).isFalse();
+        assertThat(literals.mayMatch("I have 42 bananas")).isFalse();
+    }
+
+    @Test
+    void requires_prefix_and_suffix_not_to_overlap() {
+        RequiredLiterals literals = requiredLiterals("aa{int}aa");
+
+        assertThat(literals.mayMatch("aaa")).isFalse();
+        assertThat(literals.mayMatch("aa1aa")).isTrue();
+    }
+
+    @Test
+    void requires_infixes_in_order() {
+        RequiredLiterals literals = requiredLiterals("{int} cukes and {int} bananas in {word}");
+
+        assertThat(literals.mayMatch("1 cukes and 2 bananas in belly")).isTrue();
+        assertThat(literals.mayMatch("1 bananas in 2 cukes and belly")).isFalse();
+        assertThat(literals.mayMatch("1 cukes and 2 apples in belly")).isFalse();
+    }
+
+    @Test
+    void requires_infixes_before_suffix() {
+        RequiredLiterals literals = requiredLiterals("{word} and {word}!");
+
+        assertThat(literals.mayMatch("this and that!")).isTrue();
+        assertThat(literals.mayMatch("this or that and!")).isFalse();
+    }
+
+    @Test
+    void ignores_optionals_and_alternations() {
+        RequiredLiterals literals = requiredLiterals("I have {int} cuke(s) in my belly/stomach");
+
+        assertThat(literals.mayMatch("I have 1 cuke in my belly")).isTrue();
+        assertThat(literals.mayMatch("I have 2 cukes in my stomach")).isTrue();
+        assertThat(literals.mayMatch("I have 2 cukes on my stomach")).isFalse();
+    }
+
+    @Test
+    void requires_unescaped_text() {
+        RequiredLiterals literals = requiredLiterals("\\(three\\) blind mice");
+
+        assertThat(literals.mayMatch("(three) blind mice")).isTrue();
+        assertThat(literals.mayMatch("\\(three\\) blind mice")).isFalse();
+    }
+
+    @Test
+    void requires_nothing_when_pattern_is_case_insensitive() {
+        RequiredLiterals literals = requiredLiterals("I have {int} cukes", Pattern.CASE_INSENSITIVE);
+
+        assertThat(literals.mayMatch("i HAVE 42 CUKES")).isTrue();
+    }
+
+    @Test
+    void rejects_mismatch_before_running_regex() {
+        ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+        CucumberExpression expression = new CucumberExpression("I have {int} cukes", registry);
+
+        assertThat(expression.match("I have 42 bananas")).isEmpty();
+        assertThat(expression.match("I have 42 cukes")).isPresent();
+    }
+}
@@ -0,0 +1,41 @@
+package io.cucumber.cucumberexpressions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnippetScannerTest {
+
+    @Test
+    void regexps_without_anchors_or_lookbehinds_match_the_same_wherever_the_search_starts() {
+        assertFalse(dependsOnSearchStart("(-?\\d+)"));
+        assertFalse(dependsOnSearchStart("([^\\s]+)"));
+        assertFalse(dependsOnSearchStart("([^^]+)"));
+        assertFalse(dependsOnSearchStart("(\\^\\\\)"));
+        assertFalse(dependsOnSearchStart("((?=.*\\d.*)\\d+(?:\\.(?=\\d.*))?)"));
+        assertFalse(dependsOnSearchStart("((?i)red)"));
+        assertFalse(dependsOnSearchStart("((?<name>a)\\k<name>)"));
+    }
+
+    @Test
+    void regexps_with_anchors_or_lookbehinds_depend_on_where_the_search_starts() {
+        assertTrue(dependsOnSearchStart("(^red)"));
+        assertTrue(dependsOnSearchStart("([a]^)"));
+        assertTrue(dependsOnSearchStart("(\\bred)"));
+        assertTrue(dependsOnSearchStart("(\\Bred)"));
+        assertTrue(dependsOnSearchStart("(\\Gred)"));
+        assertTrue(dependsOnSearchStart("(\\Ared)"));
+        assertTrue(dependsOnSearchStart("((?<=-)red)"));
+        assertTrue(dependsOnSearchStart("((?<!-)red)"));
+        assertTrue(dependsOnSearchStart("(\\Q^\\E)"));
+        assertTrue(dependsOnSearchStart("((?ix) r e d )"));
+    }
+
+    private static boolean dependsOnSearchStart(String regexp) {
+        return SnippetScanner.dependsOnSearchStart(Pattern.compile(regexp));
+    }
+
+}
@@ -0,0 +1,112 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransformCacheTest {
+
+    private final ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+    private final ExpressionFactory factory = new ExpressionFactory(registry);
+    private final AtomicInteger transforms = new AtomicInteger();
+
+    @Test
+    void transforms_the_same_text_once() {
+        ParameterType<String> color = colorType().withTransformCache(10);
+        registry.defineParameterType(color);
+        Expression expression = factory.createExpression("a {color} ball");
+
+        Object first = expression.match("a red ball").orElseThrow().get(0).getValue();
+        Object second = expression.match("a red ball").orElseThrow().get(0).getValue();
+        expression.match("a blue ball").orElseThrow().get(0).getValue();
+
+        assertThat(second).isSameAs(first);
+        assertThat(transforms.get()).isEqualTo(2);
+        CacheStatistics statistics = color.getTransformCacheStatistics();
+        assertThat(statistics.getHitCount()).isEqualTo(1);
+        assertThat(statistics.getMissCount()).isEqualTo(2);
+        assertThat(registry.getTransformStatistics("color").getTransformCount()).isEqualTo(2);
+    }
+
+    @Test
+    void evicts_least_recently_used_value() {
+        ParameterType<String> color = colorType().withTransformCache(2);
+        registry.defineParameterType(color);
+        Expression expression = factory.createExpression("a {color} ball");
+
+        for (String text : List.of("a red ball", "a blue ball", "a red ball", "a green ball", "a red ball", "a blue ball")) {
+            expression.match(text).orElseThrow().get(0).getValue();
+        }
+
+        assertThat(transforms.get()).isEqualTo(4);
+        assertThat(color.getTransformCacheStatistics().getEvictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void caches_values_of_all_capture_groups() {
+        ParameterType<String> point = new ParameterType<>("point", "(\\d+),(\\d+)", String.class, (@Nullable String[] args) -> {
+            transforms.incrementAndGet();
+            return args[0] + ":" + args[1];
+        }).withTransformCache(10);
+        registry.defineParameterType(point);
+        Expression expression = factory.createExpression("at {point}");
+
+        assertThat(expression.match("at 1,2").orElseThrow().get(0).getValue()).isEqualTo("1:2");
+        assertThat(expression.match("at 1,3").orElseThrow().get(0).getValue()).isEqualTo("1:3");
+        assertThat(expression.match("at 1,2").orElseThrow().get(0).getValue()).isEqualTo("1:2");
+
+        assertThat(transforms.get()).isEqualTo(2);
+    }
+
+    @Test
+    void caches_null_values_but_not_failures() {
+        ParameterType<String> color = new ParameterType<>("color", "red|blue", String.class, (@Nullable String s) -> {
+            transforms.incrementAndGet();
+            if ("blue".equals(s)) {
+                throw new IllegalArgumentException("No blue today");
+            }
+            return null;
+        }).withTransformCache(10);
+        registry.defineParameterType(color);
+        Expression expression = factory.createExpression("a {color} ball");
+
+        assertThat(expression.match("a red ball").orElseThrow().get(0).getValue()).isNull();
+        assertThat(expression.match("a red ball").orElseThrow().get(0).getValue()).isNull();
+        assertThrows(CucumberExpressionException.class, () -> expression.match("a blue ball").orElseThrow().get(0).getValue());
+        assertThrows(CucumberExpressionException.class, () -> expression.match("a blue ball").orElseThrow().get(0).getValue());
+
+        assertThat(transforms.get()).isEqualTo(3);
+    }
+
+    @Test
+    void does_not_cache_by_default() {
+        ParameterType<String> color = colorType();
+        registry.defineParameterType(color);
+        Expression expression = factory.createExpression("a {color} ball");
+
+        expression.match("a red ball").orElseThrow().get(0).getValue();
+        expression.match("a red ball").orElseThrow().get(0).getValue();
+
+        assertThat(transforms.get()).isEqualTo(2);
+        assertThat(color.getTransformCacheStatistics().getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    void rejects_non_positive_cache_size() {
+        assertThrows(IllegalArgumentException.class, () -> colorType().withTransformCache(0));
+    }
+
+    private ParameterType<String> colorType() {
+        return new ParameterType<>("color", "red|blue|green", String.class, (@Nullable String s) -> {
+            transforms.incrementAndGet();
+            return s == null ? null : new String(s);
+        });
+    }
+
+}
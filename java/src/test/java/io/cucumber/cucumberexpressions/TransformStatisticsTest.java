@@ -0,0 +1,93 @@
+package io.cucumber.cucumberexpressions;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransformStatisticsTest {
+
+    private final ParameterTypeRegistry registry = new ParameterTypeRegistry(Locale.ENGLISH);
+    private final ExpressionFactory factory = new ExpressionFactory(registry);
+
+    @Test
+    void counts_transforms_and_failures_by_parameter_type() {
+        registry.defineParameterType(new ParameterType<>("color", "red|blue|green", String.class, (@Nullable String s) -> {
+            if ("green".equals(s)) {
+                throw new IllegalArgumentException("No green today");
+            }
+            return s;
+        }));
+        Expression expression = factory.createExpression("a {color} ball");
+
+        expression.match("a red ball").orElseThrow().get(0).getValue();
+        expression.match("a blue ball").orElseThrow().get(0).getValue();
+        List<Argument<?>> green = expression.match("a green ball").orElseThrow();
+        assertThrows(CucumberExpressionException.class, () -> green.get(0).getValue());
+
+        TransformStatistics statistics = registry.getTransformStatistics("color");
+        assertThat(statistics.getTransformCount()).isEqualTo(3);
+        assertThat(statistics.getFailureCount()).isEqualTo(1);
+        assertThat(statistics.getMaxNanos()).isGreaterThan(0);
+        assertThat(statistics.getTotalNanos()).isGreaterThanOrEqualTo(statistics.getMaxNanos());
+        assertThat(registry.getTransformStatistics().get("color").getTransformCount()).isEqualTo(3);
+        assertThat(registry.getTransformStatistics().get("word").getTransformCount()).isEqualTo(0);
+    }
+
+    @Test
+    void counts_transforms_of_anonymous_parameter_types() {
+        Expression expression = factory.createExpression("I have {} cukes");
+
+        expression.match("I have many cukes").orElseThrow().get(0).getValue();
+
+        assertThat(registry.getTransformStatistics("").getTransformCount()).isEqualTo(1);
+    }
+
+    @Test
+    void does_not_record_transforms_of_capture_groups_without_parameter_type() {
+        Expression expression = factory.createExpression("^I have (many|few) cukes$");
+
+        expression.match("I have many cukes").orElseThrow().get(0).getValue();
+
+        assertThat(registry.getTransformStatistics("").getTransformCount()).isEqualTo(0);
+        assertThat(TransformRecorder.NONE.getStatistics().getTransformCount()).isEqualTo(0);
+    }
+
+    @Test
+    void returns_null_for_unknown_parameter_types() {
+        assertThat(registry.getTransformStatistics("color")).isNull();
+    }
+
+    @Test
+    void estimates_percentiles_from_powers_of_two() {
+        TransformRecorder recorder = new TransformRecorder();
+        for (int i = 0; i < 90; i++) {
+            recorder.record(500, false);
+        }
+        for (int i = 0; i < 10; i++) {
+            recorder.record(40_000_000, false);
+        }
+
+        TransformStatistics statistics = recorder.getStatistics();
+
+        assertThat(statistics.getPercentileNanos(50)).isEqualTo(1024L);
+        assertThat(statistics.getPercentileNanos(90)).isEqualTo(1024L);
+        assertThat(statistics.getPercentileNanos(95)).isEqualTo(40_000_000L);
+        assertThat(statistics.getMeanNanos()).isEqualTo(4_000_450.0);
+        assertThat(new TransformRecorder().getStatistics().getPercentileNanos(99)).isEqualTo(0L);
+    }
+
+    @Test
+    void counts_durations_in_buckets_of_powers_of_two() {
+        assertThat(TransformRecorder.bucket(0)).isEqualTo(0);
+        assertThat(TransformRecorder.bucket(1023)).isEqualTo(0);
+        assertThat(TransformRecorder.bucket(1024)).isEqualTo(1);
+        assertThat(TransformRecorder.bucket(2047)).isEqualTo(1);
+        assertThat(TransformRecorder.bucket(Long.MAX_VALUE)).isEqualTo(TransformRecorder.BUCKETS - 1);
+    }
+
+}
@@ -0,0 +1,46 @@
+package io.cucumber.cucumberexpressions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordBoundariesTest {
+
+    private static final Pattern WHITESPACE_OR_PUNCTUATION_OR_SYMBOL = Pattern.compile("[\\p{Z}\\p{P}\\p{S}]");
+
+    @Test
+    void classifies_code_points_like_the_regexp() {
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            boolean expected = WHITESPACE_OR_PUNCTUATION_OR_SYMBOL.matcher(new String(Character.toChars(codePoint))).matches();
+            assertEquals(expected, WordBoundaries.isWhitespaceOrPunctuationOrSymbol(codePoint), "U+" + Integer.toHexString(codePoint));
+        }
+    }
+
+    @Test
+    void finds_boundaries_at_the_start_and_end_of_the_text() {
+        assertTrue(WordBoundaries.isBoundaryBefore("red", 0));
+        assertTrue(WordBoundaries.isBoundaryAfter("red", 3));
+        assertTrue(WordBoundaries.isBoundaryBefore("a red", 2));
+        assertTrue(WordBoundaries.isBoundaryAfter("red, blue", 3));
+        assertFalse(WordBoundaries.isBoundaryBefore("ared", 1));
+        assertFalse(WordBoundaries.isBoundaryAfter("reds", 3));
+        assertFalse(WordBoundaries.isBoundaryAfter("red\tblue", 3));
+    }
+
+    @Test
+    void finds_boundaries_next_to_code_points_outside_the_basic_multilingual_plane() {
+        // PARTY POPPER is a symbol
+        String symbols = "🎉red🎉";
+        assertTrue(WordBoundaries.isBoundaryBefore(symbols, 2));
+        assertTrue(WordBoundaries.isBoundaryAfter(symbols, 5));
+        // MATHEMATICAL BOLD CAPITAL A is a letter
+        String letters = "𝐀red𝐀";
+        assertFalse(WordBoundaries.isBoundaryBefore(letters, 2));
+        assertFalse(WordBoundaries.isBoundaryAfter(letters, 5));
+    }
+
+}